@@ -0,0 +1,158 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * The metadata of a resolved jar used to deploy a module: the main attributes of its manifest and the directories it
+ * contains.
+ */
+final class ArtifactMetadata {
+
+  static final String VERSIONS_DIRECTORY = "META-INF/versions/";
+
+  private final String path;
+  private final long size;
+  private final long lastModified;
+  private final Map<String, String> mainAttributes;
+  private final Set<String> directories;
+
+  private ArtifactMetadata(String path, long size, long lastModified, Map<String, String> mainAttributes,
+                           Set<String> directories) {
+    this.path = path;
+    this.size = size;
+    this.lastModified = lastModified;
+    this.mainAttributes = Collections.unmodifiableMap(mainAttributes);
+    this.directories = Collections.unmodifiableSet(directories);
+  }
+
+  /**
+   * Reads the metadata of the given jar.
+   *
+   * @param file the jar
+   * @return the metadata
+   * @throws IOException if the jar cannot be read
+   */
+  static ArtifactMetadata read(File file) throws IOException {
+    long size = file.length();
+    long lastModified = file.lastModified();
+    Map<String, String> mainAttributes = new HashMap<>();
+    Set<String> directories = new LinkedHashSet<>();
+    try (JarFile jar = new JarFile(file)) {
+      Manifest manifest = jar.getManifest();
+      if (manifest != null) {
+        for (Map.Entry<Object, Object> attribute : manifest.getMainAttributes().entrySet()) {
+          mainAttributes.put(attribute.getKey().toString(), (String) attribute.getValue());
+        }
+      }
+      Enumeration<JarEntry> entries = jar.entries();
+      while (entries.hasMoreElements()) {
+        JarEntry entry = entries.nextElement();
+        String name = entry.getName();
+        if (name.startsWith(VERSIONS_DIRECTORY)) {
+          // Versioned entries of multi-release jars are looked up with their unversioned name
+          int pos = name.indexOf('/', VERSIONS_DIRECTORY.length());
+          if (pos != -1) {
+            name = name.substring(pos + 1);
+          }
+        }
+        directories.add(directory(name));
+        if (name.endsWith("/")) {
+          // Directory entries can be looked up as resources
+          directories.add(directory(name.substring(0, name.length() - 1)));
+        }
+      }
+    }
+    return new ArtifactMetadata(file.getAbsolutePath(), size, lastModified, mainAttributes, directories);
+  }
+
+  static ArtifactMetadata fromJson(JsonObject json) {
+    Map<String, String> mainAttributes = new HashMap<>();
+    json.getJsonObject("mainAttributes").forEach(e -> mainAttributes.put(e.getKey(), (String) e.getValue()));
+    Set<String> directories = new LinkedHashSet<>();
+    json.getJsonArray("directories").forEach(directory -> directories.add((String) directory));
+    return new ArtifactMetadata(json.getString("path"), json.getLong("size"), json.getLong("lastModified"),
+        mainAttributes, directories);
+  }
+
+  JsonObject toJson() {
+    return new JsonObject()
+        .put("path", path)
+        .put("size", size)
+        .put("lastModified", lastModified)
+        .put("mainAttributes", new JsonObject(new HashMap<>(mainAttributes)))
+        .put("directories", new JsonArray(new ArrayList<>(directories)));
+  }
+
+  /**
+   * @param file the file
+   * @return whether or not this metadata has been read from the current content of the given file
+   */
+  boolean isUpToDate(File file) {
+    return path.equals(file.getAbsolutePath()) && size == file.length() && lastModified == file.lastModified();
+  }
+
+  /**
+   * @param name the attribute name
+   * @return the value of the main attribute of the manifest, {@code null} if none
+   */
+  String mainAttribute(String name) {
+    String value = mainAttributes.get(name);
+    if (value == null) {
+      // Attribute names are case insensitive
+      Attributes.Name key = new Attributes.Name(name);
+      for (Map.Entry<String, String> attribute : mainAttributes.entrySet()) {
+        if (key.equals(new Attributes.Name(attribute.getKey()))) {
+          return attribute.getValue();
+        }
+      }
+    }
+    return value;
+  }
+
+  boolean isMultiRelease() {
+    return "true".equalsIgnoreCase(mainAttribute("Multi-Release"));
+  }
+
+  /**
+   * @return the directories of the jar, as {@code a/b/}, the root being the empty string
+   */
+  Set<String> directories() {
+    return directories;
+  }
+
+  static String directory(String name) {
+    int pos = name.lastIndexOf('/');
+    return pos == -1 ? "" : name.substring(0, pos + 1);
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven;
+
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.core.json.JsonObject;
+import io.vertx.maven.resolver.IndexFiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the {@link ArtifactMetadata} of the resolved jars, so deploying a module again does not open its jars to
+ * read their manifest, service descriptors or directories. Entries are keyed by the path of the jar and are only
+ * used while the jar keeps the same size and modification time.
+ * <p/>
+ * The metadata is kept in memory and, when a directory is given, stored on disk so it is reused by the next
+ * processes.
+ */
+class ArtifactMetadataCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactMetadataCache.class);
+
+  static final String METADATA_DIRECTORY = ".vertx" + File.separator + "metadata";
+
+  private static final int MAX_SIZE = 1024;
+
+  private final File directory;
+  private final Map<String, ArtifactMetadata> entries = new LinkedHashMap<String, ArtifactMetadata>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, ArtifactMetadata> eldest) {
+      return size() > MAX_SIZE;
+    }
+  };
+
+  /**
+   * @param directory the directory storing the metadata on disk, {@code null} to only keep it in memory
+   */
+  ArtifactMetadataCache(File directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Gets the metadata of the given jar, reading it if it's not cached or if the jar has changed.
+   *
+   * @param file the jar
+   * @return the metadata
+   * @throws IOException if the jar cannot be read
+   */
+  ArtifactMetadata get(File file) throws IOException {
+    String path = file.getAbsolutePath();
+    ArtifactMetadata metadata;
+    synchronized (this) {
+      metadata = entries.get(path);
+    }
+    if (metadata != null && metadata.isUpToDate(file)) {
+      return metadata;
+    }
+    metadata = load(file);
+    if (metadata == null) {
+      metadata = ArtifactMetadata.read(file);
+      store(file, metadata);
+    }
+    synchronized (this) {
+      entries.put(path, metadata);
+    }
+    return metadata;
+  }
+
+  synchronized void clear() {
+    entries.clear();
+  }
+
+  private ArtifactMetadata load(File file) {
+    if (directory == null) {
+      return null;
+    }
+    File stored = storedFile(file);
+    if (!stored.isFile()) {
+      return null;
+    }
+    try {
+      ArtifactMetadata metadata = ArtifactMetadata.fromJson(
+          new JsonObject(new String(Files.readAllBytes(stored.toPath()), StandardCharsets.UTF_8)));
+      return metadata.isUpToDate(file) ? metadata : null;
+    } catch (Exception e) {
+      LOGGER.debug("Ignoring the invalid metadata file " + stored.getAbsolutePath(), e);
+      return null;
+    }
+  }
+
+  private void store(File file, ArtifactMetadata metadata) {
+    if (directory == null) {
+      return;
+    }
+    File stored = storedFile(file);
+    try {
+      IndexFiles.write(stored, metadata.toJson().encode());
+    } catch (IOException e) {
+      LOGGER.warn("Cannot store the metadata of " + file + ": " + e.getMessage());
+    }
+  }
+
+  private File storedFile(File file) {
+    return IndexFiles.file(directory, file.getAbsolutePath());
+  }
+}
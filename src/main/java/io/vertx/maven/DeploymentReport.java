@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven;
+
+import io.vertx.maven.resolver.ResolutionReport;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Describes the deployment of a module by the {@link MavenVerticleFactory}: how the module has been resolved and
+ * the time spent in each phase, until the verticle is created or the deployment fails.
+ *
+ * @see MavenVerticleFactory#getDeploymentReport(String)
+ */
+public class DeploymentReport {
+
+  private final String identifier;
+  private final String module;
+  private final ResolutionReport resolution;
+  private final Map<ResolverMetrics.Phase, Long> durations;
+  private final long duration;
+  private final Throwable failure;
+
+  DeploymentReport(String identifier, String module, ResolutionReport resolution,
+                   Map<ResolverMetrics.Phase, Long> durations, long duration, Throwable failure) {
+    this.identifier = identifier;
+    this.module = module;
+    this.resolution = resolution;
+    this.durations = Collections.unmodifiableMap(new EnumMap<>(durations));
+    this.duration = duration;
+    this.failure = failure;
+  }
+
+  /**
+   * @return the identifier of the deployed verticle, without the {@code maven:} prefix.
+   */
+  public String getIdentifier() {
+    return identifier;
+  }
+
+  /**
+   * @return the coordinates of the module.
+   */
+  public String getModule() {
+    return module;
+  }
+
+  /**
+   * @return the report of the resolution of the module: the artifacts with their origin and the downloads,
+   * {@code null} if the resolution failed.
+   */
+  public ResolutionReport getResolution() {
+    return resolution;
+  }
+
+  /**
+   * @return whether or not the verticle has been created.
+   */
+  public boolean isSucceeded() {
+    return failure == null;
+  }
+
+  /**
+   * @return the cause of the failure of the deployment, {@code null} if it succeeded.
+   */
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  /**
+   * Gets the time spent in a phase of the deployment.
+   *
+   * @param phase the phase
+   * @return the duration in nanoseconds, {@code 0} if the phase did not run (e.g. a cached resolution does not
+   * collect the dependency graph)
+   */
+  public long getDuration(ResolverMetrics.Phase phase) {
+    return durations.getOrDefault(phase, 0L);
+  }
+
+  /**
+   * @return the duration of the deployment in nanoseconds, from the resolution of the module to the creation of
+   * the verticle.
+   */
+  public long getDuration() {
+    return duration;
+  }
+
+  @Override
+  public String toString() {
+    return "DeploymentReport{identifier=" + identifier + ", succeeded=" + isSucceeded() + ", durations=" + durations
+        + ", duration=" + duration + "}";
+  }
+}
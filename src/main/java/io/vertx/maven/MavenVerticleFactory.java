@@ -1,25 +1,37 @@
 package io.vertx.maven;
 
 import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Verticle;
 import io.vertx.core.Vertx;
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
 import io.vertx.core.spi.VerticleFactory;
+import io.vertx.maven.jfr.DeploymentEvents;
 import io.vertx.maven.resolver.ResolutionOptions;
+import io.vertx.maven.resolver.ResolutionReport;
 import io.vertx.service.ServiceVerticleFactory;
 import org.eclipse.aether.artifact.Artifact;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.jar.Attributes;
-import java.util.jar.JarFile;
-import java.util.jar.Manifest;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -41,8 +53,18 @@ public class MavenVerticleFactory extends ServiceVerticleFactory {
   private static final String DEFAULT_MAVEN_REMOTES =
       "https://repo.maven.apache.org/maven2/ https://oss.sonatype.org/content/repositories/snapshots/";
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(MavenVerticleFactory.class);
+
   private Vertx vertx;
   private final Resolver resolver;
+  private final ModuleClassLoaderPool classLoaders;
+  private final ParentClasspathFilter parentClasspath;
+  private final ArtifactMetadataCache metadata;
+  private final List<String> preResolvedModules;
+  private final ResolverMetrics metrics;
+  private final Map<String, DeploymentReport> reports = new ConcurrentHashMap<>();
+  private volatile Handler<DeploymentReport> reportHandler;
+  private volatile Future<Void> warmUp = Future.succeededFuture();
 
   /**
    * Creates an instance of
@@ -68,7 +90,7 @@ public class MavenVerticleFactory extends ServiceVerticleFactory {
    * @param options the options.
    */
   public MavenVerticleFactory(ResolverOptions options) {
-    this(Resolver.create(options));
+    this(Resolver.create(options), options);
   }
 
   /**
@@ -78,12 +100,45 @@ public class MavenVerticleFactory extends ServiceVerticleFactory {
    * @param resolver the resolver to use
    */
   public MavenVerticleFactory(Resolver resolver) {
+    this(resolver, new ResolverOptions());
+  }
+
+  private MavenVerticleFactory(Resolver resolver, ResolverOptions options) {
     this.resolver = resolver;
+    this.parentClasspath = new ParentClasspathFilter(options.getParentClasspathPolicy());
+    this.preResolvedModules = new ArrayList<>(options.getPreResolvedModules());
+    this.metrics = options.getMetrics();
+    // The metadata is stored next to the resolution index when it's enabled
+    this.metadata = new ArtifactMetadataCache(options.isResolutionIndex() ?
+        new File(options.getLocalRepository(), ArtifactMetadataCache.METADATA_DIRECTORY) : null);
+    this.classLoaders = new ModuleClassLoaderPool(options.isIndexedClassLoader() ?
+        (urls, parent) -> new ModuleClassLoader(urls, parent, metadata) : URLClassLoader::new);
   }
 
   @Override
   public void init(Vertx vertx) {
     this.vertx = vertx;
+    resolver.init(vertx);
+    if (!preResolvedModules.isEmpty()) {
+      warmUp = preResolve(preResolvedModules)
+          .onFailure(err -> LOGGER.warn("Cannot pre-resolve the modules " + preResolvedModules + ": " + err.getMessage()));
+    }
+  }
+
+  /**
+   * Gets the completion of the warm-up started when the factory is initialized: the resolution of the modules
+   * configured with {@link ResolverOptions#setPreResolvedModules(List)}. Readiness checks can wait for it before
+   * deploying the modules.
+   *
+   * @return a future completed when the configured modules are resolved, already completed if there are none
+   */
+  public Future<Void> warmUp() {
+    return warmUp;
+  }
+
+  @Override
+  public void close() {
+    resolver.close();
   }
 
   @Override
@@ -95,80 +150,277 @@ public class MavenVerticleFactory extends ServiceVerticleFactory {
   protected void createVerticle(String verticleName, DeploymentOptions deploymentOptions, ClassLoader classLoader, Promise<Callable<Verticle>> promise) {
 
     RESOLVE_CALLED = true;
-    vertx.<Void>executeBlocking(fut -> {
-      try {
-        String identifierNoPrefix = VerticleFactory.removePrefix(verticleName);
-        String coordsString = identifierNoPrefix;
-        String serviceName = null;
-        int pos = identifierNoPrefix.lastIndexOf("::");
-        if (pos != -1) {
-          coordsString = identifierNoPrefix.substring(0, pos);
-          serviceName = identifierNoPrefix.substring(pos + 2);
+    String identifierNoPrefix = VerticleFactory.removePrefix(verticleName);
+    String coordsString = identifierNoPrefix;
+    String serviceName = null;
+    int pos = identifierNoPrefix.lastIndexOf("::");
+    if (pos != -1) {
+      coordsString = identifierNoPrefix.substring(0, pos);
+      serviceName = identifierNoPrefix.substring(pos + 2);
+    }
+    MavenCoords coords;
+    try {
+      coords = new MavenCoords(coordsString);
+      if (coords.version() == null) {
+        throw new IllegalArgumentException("Invalid service identifier, missing version: " + coordsString);
+      }
+    } catch (Exception e) {
+      promise.fail(e);
+      return;
+    }
+
+    String module = coordsString;
+    String service = serviceName;
+    long begin = System.nanoTime();
+    Map<ResolverMetrics.Phase, Long> durations = new EnumMap<>(ResolverMetrics.Phase.class);
+    AtomicReference<ResolutionReport> resolution = new AtomicReference<>();
+    Promise<Callable<Verticle>> deployment = Promise.promise();
+    deployment.future().onComplete(ar -> {
+      report(new DeploymentReport(identifierNoPrefix, module, resolution.get(), durations, System.nanoTime() - begin,
+          ar.cause()));
+      promise.handle(ar);
+    });
+    resolver.resolveWithReport(vertx, module, new ResolutionOptions())
+      .recover(err -> {
+        if (err instanceof NullPointerException) {
+          // Sucks, but aether throws a NPE if repository name is invalid....
+          return Future.failedFuture(new IllegalArgumentException("Cannot find module " + module + ". Maybe repository URL is invalid?"));
         }
-        MavenCoords coords = new MavenCoords(coordsString);
-        if (coords.version() == null) {
-          throw new IllegalArgumentException("Invalid service identifier, missing version: " + coordsString);
+        return Future.failedFuture(err);
+      })
+      .onFailure(deployment::fail)
+      .onSuccess(report -> vertx.<Void>executeBlocking(fut -> {
+        resolution.set(report);
+        durations.put(ResolverMetrics.Phase.COLLECT, report.getDuration(ResolverMetrics.Phase.COLLECT));
+        durations.put(ResolverMetrics.Phase.DOWNLOAD, report.getDuration(ResolverMetrics.Phase.DOWNLOAD));
+        List<Artifact> artifacts = report.getArtifacts().stream()
+            .map(ResolutionReport.ArtifactReport::getArtifact)
+            .collect(Collectors.toList());
+        try {
+          createVerticle(identifierNoPrefix, coords, module, service, artifacts, deploymentOptions, classLoader,
+              durations, deployment);
+          fut.complete();
+        } catch (Exception e) {
+          fut.fail(e);
+          deployment.fail(e);
         }
+      }, ar -> {
+      }));
+  }
 
-        List<Artifact> artifacts;
-        try {
-          artifacts =
-            resolver.resolve(coordsString, new ResolutionOptions());
-        } catch (NullPointerException e) {
-          // Sucks, but aether throws a NPE if repository name is invalid....
-          throw new IllegalArgumentException("Cannot find module " + coordsString + ". Maybe repository URL is invalid?");
+  private void createVerticle(String identifierNoPrefix, MavenCoords coords, String coordsString, String serviceName,
+                              List<Artifact> artifacts, DeploymentOptions deploymentOptions, ClassLoader classLoader,
+                              Map<ResolverMetrics.Phase, Long> durations, Promise<Callable<Verticle>> promise)
+      throws Exception {
+
+    // When service name is null we look at the Main-Verticle in META-INF/MANIFEST.MF
+    String serviceIdentifer = null;
+    if (serviceName != null) {
+      serviceIdentifer = "service:" + serviceName;
+    } else {
+      for (Artifact result : artifacts) {
+        if (isModule(result, coords)) {
+          Object event = DeploymentEvents.manifestStarted();
+          serviceIdentifer = metadata.get(result.getFile()).mainAttribute("Main-Verticle");
+          DeploymentEvents.manifestEnded(event, result.getFile().getAbsolutePath(), serviceIdentifer);
         }
+      }
+      if (serviceIdentifer == null) {
+        throw new IllegalArgumentException("Invalid service identifier, missing service name: " + identifierNoPrefix);
+      }
+    }
 
-        // When service name is null we look at the Main-Verticle in META-INF/MANIFEST.MF
-        String serviceIdentifer = null;
-        if (serviceName != null) {
-          serviceIdentifer = "service:" + serviceName;
-        } else {
-          for (Artifact result : artifacts) {
-            if (result.getGroupId().equals(coords.owner()) && result.getArtifactId().equals(coords.serviceName())) {
-              File file = result.getFile();
-              JarFile jarFile = new JarFile(file);
-              Manifest manifest = jarFile.getManifest();
-              if (manifest != null) {
-                serviceIdentifer = (String) manifest.getMainAttributes().get(new Attributes.Name("Main-Verticle"));
-              }
-            }
-          }
-          if (serviceIdentifer == null) {
-            throw new IllegalArgumentException("Invalid service identifier, missing service name: " + identifierNoPrefix);
-          }
+    // Generate the classpath - if the jar is already on the Vert.x classpath (e.g. the Vert.x dependencies, netty etc)
+    // then we don't add it to the classpath for the module
+    List<String> classpath = artifacts.stream().
+      filter(res -> isModule(res, coords) || !parentClasspath.isProvided(res, classLoader)).
+      map(res -> res.getFile().getAbsolutePath()).
+      collect(Collectors.toList());
+    URL[] urls = new URL[classpath.size()];
+    int index = 0;
+    List<String> extraCP = new ArrayList<>(urls.length);
+    for (String pathElement : classpath) {
+      File file = new File(pathElement);
+      extraCP.add(file.getAbsolutePath());
+      try {
+        URL url = file.toURI().toURL();
+        urls[index++] = url;
+      } catch (MalformedURLException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    deploymentOptions.setExtraClasspath(extraCP);
+    deploymentOptions.setIsolationGroup("__vertx_maven_" + coordsString);
+    // Deployments using the same classpath share the same loader, it is closed once all of them are undeployed
+    long begin = System.nanoTime();
+    Object event = DeploymentEvents.classLoaderStarted();
+    URLClassLoader urlc = classLoaders.acquire(urls, classLoader);
+    long creationBegin;
+    Promise<Callable<Verticle>> creation = Promise.promise();
+    try {
+      durations.put(ResolverMetrics.Phase.CLASSLOADER, System.nanoTime() - begin);
+      metrics.phaseCompleted(ResolverMetrics.Phase.CLASSLOADER, durations.get(ResolverMetrics.Phase.CLASSLOADER));
+      DeploymentEvents.classLoaderEnded(event, coordsString, urls.length);
+      creationBegin = System.nanoTime();
+    } catch (RuntimeException e) {
+      classLoaders.release(urlc);
+      throw e;
+    }
+    creation.future().onComplete(ar -> {
+      try {
+        durations.put(ResolverMetrics.Phase.VERTICLE, System.nanoTime() - creationBegin);
+        metrics.phaseCompleted(ResolverMetrics.Phase.VERTICLE, durations.get(ResolverMetrics.Phase.VERTICLE));
+      } catch (RuntimeException e) {
+        LOGGER.error("Failed to record the verticle creation of " + coordsString, e);
+      }
+      if (ar.succeeded()) {
+        promise.complete(moduleVerticleFactory(ar.result(), urlc));
+      } else {
+        classLoaders.release(urlc);
+        promise.fail(ar.cause());
+      }
+    });
+    try {
+      super.createVerticle(serviceIdentifer, deploymentOptions, urlc, creation);
+    } catch (Exception e) {
+      creation.tryFail(e);
+    }
+  }
+
+  private static boolean isModule(Artifact artifact, MavenCoords coords) {
+    return artifact.getGroupId().equals(coords.owner()) && artifact.getArtifactId().equals(coords.serviceName());
+  }
+
+  /**
+   * Wraps the verticles created by the given factory, so each verticle instance retains the module classloader
+   * until it is undeployed. When an instance cannot be created, Vert.x fails the deployment and drops the instances
+   * created before, so they release their reference as well.
+   */
+  private Callable<Verticle> moduleVerticleFactory(Callable<Verticle> factory, URLClassLoader loader) {
+    // The first instance uses the reference acquired when the verticle was created
+    AtomicBoolean first = new AtomicBoolean(true);
+    List<ModuleVerticle> created = new CopyOnWriteArrayList<>();
+    return () -> {
+      if (!first.compareAndSet(true, false)) {
+        classLoaders.retain(loader);
+      }
+      Verticle verticle;
+      try {
+        verticle = factory.call();
+      } catch (Exception | Error e) {
+        classLoaders.release(loader);
+        created.forEach(ModuleVerticle::release);
+        throw e;
+      }
+      ModuleVerticle moduleVerticle = new ModuleVerticle(verticle, () -> classLoaders.release(loader));
+      created.add(moduleVerticle);
+      return moduleVerticle;
+    };
+  }
+
+  /**
+   * Resolves the given modules in a single batch (see {@link Resolver#resolveAll(Map)}) and reads the metadata of
+   * their jars, so that deploying them afterwards does not wait for their resolution. The factory must have been
+   * initialized (registered on a Vert.x instance).
+   *
+   * @param modules the modules, as deployed ({@code maven:groupId:artifactId:version[::service]}), the
+   *                {@code maven:} prefix being optional
+   * @return a future completed when all the modules are resolved
+   */
+  public Future<Void> preResolve(List<String> modules) {
+    if (vertx == null) {
+      return Future.failedFuture(new IllegalStateException("The factory is not initialized"));
+    }
+    Map<String, ResolutionOptions> dependencies = new LinkedHashMap<>();
+    for (String module : modules) {
+      String coordsString = module.startsWith(prefix() + ":") ? VerticleFactory.removePrefix(module) : module;
+      int pos = coordsString.lastIndexOf("::");
+      if (pos != -1) {
+        coordsString = coordsString.substring(0, pos);
+      }
+      try {
+        if (new MavenCoords(coordsString).version() == null) {
+          throw new IllegalArgumentException("Invalid service identifier, missing version: " + coordsString);
         }
+      } catch (Exception e) {
+        return Future.failedFuture(e);
+      }
+      dependencies.put(coordsString, new ResolutionOptions());
+    }
+    return resolver.resolveAll(vertx, dependencies)
+        .compose(resolved -> vertx.executeBlocking(promise -> {
+          prepare(resolved.values());
+          promise.complete();
+        }, false));
+  }
 
-        // Generate the classpath - if the jar is already on the Vert.x classpath (e.g. the Vert.x dependencies, netty etc)
-        // then we don't add it to the classpath for the module
-        List<String> classpath = artifacts.stream().
-          map(res -> res.getFile().getAbsolutePath()).
-          collect(Collectors.toList());
-        URL[] urls = new URL[classpath.size()];
-        int index = 0;
-        List<String> extraCP = new ArrayList<>(urls.length);
-        for (String pathElement : classpath) {
-          File file = new File(pathElement);
-          extraCP.add(file.getAbsolutePath());
+  /**
+   * Reads the metadata of the resolved jars, so the classloaders of the modules are created without opening them.
+   */
+  private void prepare(Collection<List<Artifact>> modules) {
+    for (List<Artifact> artifacts : modules) {
+      for (Artifact artifact : artifacts) {
+        File file = artifact.getFile();
+        if (file != null && file.isFile()
+            && ("jar".equals(artifact.getExtension()) || "zip".equals(artifact.getExtension()))) {
           try {
-            URL url = file.toURI().toURL();
-            urls[index++] = url;
-          } catch (MalformedURLException e) {
-            throw new IllegalStateException(e);
+            metadata.get(file);
+          } catch (IOException e) {
+            LOGGER.debug("Cannot read the metadata of " + file, e);
           }
         }
-        deploymentOptions.setExtraClasspath(extraCP);
-        deploymentOptions.setIsolationGroup("__vertx_maven_" + coordsString);
-        URLClassLoader urlc = new URLClassLoader(urls, classLoader);
+      }
+    }
+  }
 
-        super.createVerticle(serviceIdentifer, deploymentOptions, urlc, promise);
-        fut.complete();
+  private void report(DeploymentReport report) {
+    reports.put(report.getIdentifier(), report);
+    Handler<DeploymentReport> handler = reportHandler;
+    if (handler != null) {
+      try {
+        handler.handle(report);
       } catch (Exception e) {
-        fut.fail(e);
-        promise.fail(e);
+        LOGGER.warn("The deployment report handler failed", e);
       }
-    }, ar -> {
-    });
+    }
+  }
+
+  /**
+   * Sets a handler receiving the report of each deployment, once the verticle is created or the deployment failed.
+   * The handler is called from the thread completing the deployment, it must not block.
+   *
+   * @param handler the handler, {@code null} to remove it
+   * @return the current {@link MavenVerticleFactory} instance
+   */
+  public MavenVerticleFactory deploymentReportHandler(Handler<DeploymentReport> handler) {
+    this.reportHandler = handler;
+    return this;
+  }
+
+  /**
+   * Gets the report of the last deployment of a verticle: the resolved artifacts with the repository they come from,
+   * the downloads and the time spent in each phase.
+   *
+   * @param identifier the identifier of the verticle, as deployed ({@code maven:groupId:artifactId:version[::service]}),
+   *                   the {@code maven:} prefix being optional
+   * @return the report, {@code null} if the verticle has not been deployed by this factory
+   */
+  public DeploymentReport getDeploymentReport(String identifier) {
+    return reports.get(identifier.startsWith(prefix() + ":") ? VerticleFactory.removePrefix(identifier) : identifier);
+  }
+
+  /**
+   * @return the report of the last deployment of each verticle deployed by this factory.
+   */
+  public List<DeploymentReport> getDeploymentReports() {
+    return new ArrayList<>(reports.values());
+  }
+
+  /**
+   * @return the number of module classloaders currently used by the deployments.
+   */
+  public int getClassLoaderCount() {
+    return classLoaders.size();
   }
 
   /**
@@ -0,0 +1,449 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven;
+
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+/**
+ * The classloader of the modules. When created, it indexes the directories (packages) contained by each element of
+ * the classpath, so looking up a class or a resource only checks the elements containing its directory instead of
+ * scanning the whole classpath. Misses, which are frequent with the parent-first delegation and the
+ * {@link java.util.ServiceLoader} lookups, do not open any element.
+ * <p/>
+ * When an element of the classpath cannot be indexed, or when a jar references other jars with the {@code Class-Path}
+ * attribute of its manifest, the loader falls back to the {@link URLClassLoader} lookup.
+ */
+class ModuleClassLoader extends URLClassLoader {
+
+  static {
+    ClassLoader.registerAsParallelCapable();
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ModuleClassLoader.class);
+
+  private static final int RUNTIME_VERSION = runtimeVersion();
+  private static final int[] NO_ELEMENT = new int[0];
+  private static final String ESCAPED = "\"#%;<=>?[\\]^`{|}";
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final Element[] elements;
+  private final Map<String, int[]> index;
+
+  ModuleClassLoader(URL[] urls, ClassLoader parent) {
+    this(urls, parent, new ArtifactMetadataCache(null));
+  }
+
+  /**
+   * @param urls     the classpath
+   * @param parent   the parent classloader
+   * @param metadata the cache providing the manifests and the directories of the jars
+   */
+  ModuleClassLoader(URL[] urls, ClassLoader parent, ArtifactMetadataCache metadata) {
+    super(urls, parent);
+    Element[] elements = new Element[urls.length];
+    Map<String, int[]> index = new HashMap<>();
+    try {
+      for (int i = 0; i < urls.length; i++) {
+        File file = new File(urls[i].toURI());
+        if (file.isDirectory()) {
+          elements[i] = new DirectoryElement(urls[i], file);
+        } else {
+          ArtifactMetadata jarMetadata = metadata.get(file);
+          if (jarMetadata.mainAttribute("Class-Path") != null) {
+            // The jars referenced by the manifest are only added to the classpath by the URLClassLoader
+            throw new IOException(file + " declares a Class-Path");
+          }
+          elements[i] = new JarElement(urls[i], file, jarMetadata);
+        }
+        for (String directory : elements[i].directories()) {
+          int[] positions = index.get(directory);
+          if (positions == null) {
+            index.put(directory, new int[]{i});
+          } else {
+            int[] copy = new int[positions.length + 1];
+            System.arraycopy(positions, 0, copy, 0, positions.length);
+            copy[positions.length] = i;
+            index.put(directory, copy);
+          }
+        }
+      }
+    } catch (Exception e) {
+      LOGGER.debug("Cannot index the module classpath, using the default lookup", e);
+      closeElements(elements);
+      elements = null;
+      index = null;
+    }
+    this.elements = elements;
+    this.index = index;
+  }
+
+  @Override
+  protected Class<?> findClass(String name) throws ClassNotFoundException {
+    if (elements == null) {
+      return super.findClass(name);
+    }
+    String path = name.replace('.', '/') + ".class";
+    for (int position : lookup(path)) {
+      Element element = elements[position];
+      try {
+        Resource resource = element.find(path);
+        if (resource != null) {
+          return define(name, element, resource);
+        }
+      } catch (IOException e) {
+        throw new ClassNotFoundException(name, e);
+      }
+    }
+    throw new ClassNotFoundException(name);
+  }
+
+  @Override
+  public URL findResource(String name) {
+    if (elements == null) {
+      return super.findResource(name);
+    }
+    for (int position : lookup(name)) {
+      try {
+        Resource resource = elements[position].find(name);
+        if (resource != null) {
+          return resource.url();
+        }
+      } catch (IOException ignore) {
+        // Try the next element, as the URLClassLoader does
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public Enumeration<URL> findResources(String name) throws IOException {
+    if (elements == null) {
+      return super.findResources(name);
+    }
+    List<URL> urls = new ArrayList<>();
+    for (int position : lookup(name)) {
+      Resource resource = elements[position].find(name);
+      if (resource != null) {
+        urls.add(resource.url());
+      }
+    }
+    return Collections.enumeration(urls);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      super.close();
+    } finally {
+      if (elements != null) {
+        closeElements(elements);
+      }
+    }
+  }
+
+  private int[] lookup(String name) {
+    int pos = name.lastIndexOf('/');
+    int[] positions = index.get(pos == -1 ? "" : name.substring(0, pos + 1));
+    return positions == null ? NO_ELEMENT : positions;
+  }
+
+  @SuppressWarnings("deprecation")
+  private Class<?> define(String name, Element element, Resource resource) throws IOException {
+    int pos = name.lastIndexOf('.');
+    if (pos != -1) {
+      String packageName = name.substring(0, pos);
+      if (getPackage(packageName) == null) {
+        try {
+          Manifest manifest = element.manifest();
+          if (manifest != null) {
+            definePackage(packageName, manifest, element.url);
+          } else {
+            definePackage(packageName, null, null, null, null, null, null, null);
+          }
+        } catch (IllegalArgumentException ignore) {
+          // Defined concurrently
+        }
+      }
+    }
+    byte[] bytes = resource.bytes();
+    CodeSource source = new CodeSource(element.url, resource.signers());
+    return defineClass(name, bytes, 0, bytes.length, source);
+  }
+
+  private static void closeElements(Element[] elements) {
+    for (Element element : elements) {
+      if (element != null) {
+        element.close();
+      }
+    }
+  }
+
+  /**
+   * Escapes the characters of a resource name that are not allowed in a URL path, as the {@link URLClassLoader} does.
+   */
+  private static String encode(String name) {
+    StringBuilder sb = null;
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < bytes.length; i++) {
+      int b = bytes[i] & 0xFF;
+      if (b > 0x20 && b < 0x7F && ESCAPED.indexOf(b) == -1) {
+        if (sb != null) {
+          sb.append((char) b);
+        }
+      } else {
+        if (sb == null) {
+          sb = new StringBuilder(bytes.length + 16).append(name, 0, i);
+        }
+        sb.append('%').append(HEX[b >> 4]).append(HEX[b & 0xF]);
+      }
+    }
+    return sb == null ? name : sb.toString();
+  }
+
+  private static int runtimeVersion() {
+    String version = System.getProperty("java.specification.version", "1.8");
+    if (version.startsWith("1.")) {
+      return 8;
+    }
+    try {
+      return Integer.parseInt(version);
+    } catch (NumberFormatException e) {
+      return 8;
+    }
+  }
+
+  private interface Resource {
+
+    URL url() throws MalformedURLException;
+
+    /**
+     * Must be called before {@link #signers()}, as the signers are known once the content has been read.
+     */
+    byte[] bytes() throws IOException;
+
+    CodeSigner[] signers();
+  }
+
+  private static abstract class Element {
+
+    final URL url;
+
+    Element(URL url) {
+      this.url = url;
+    }
+
+    abstract Collection<String> directories() throws IOException;
+
+    abstract Resource find(String name) throws IOException;
+
+    abstract Manifest manifest() throws IOException;
+
+    abstract void close();
+  }
+
+  private static class JarElement extends Element {
+
+    private final File file;
+    private final ArtifactMetadata metadata;
+    private final boolean multiRelease;
+    private final String base;
+    private JarFile jar;
+    private boolean closed;
+
+    JarElement(URL url, File file, ArtifactMetadata metadata) {
+      super(url);
+      this.file = file;
+      this.metadata = metadata;
+      this.multiRelease = RUNTIME_VERSION > 8 && metadata.isMultiRelease();
+      this.base = "jar:" + url.toExternalForm() + "!/";
+    }
+
+    @Override
+    Collection<String> directories() {
+      return metadata.directories();
+    }
+
+    // The jar is only opened when a class or a resource is read from it
+    private synchronized JarFile jar() throws IOException {
+      if (closed) {
+        throw new IOException("The classloader has been closed");
+      }
+      if (jar == null) {
+        jar = new JarFile(file);
+      }
+      return jar;
+    }
+
+    @Override
+    Resource find(String name) throws IOException {
+      JarFile jar = jar();
+      JarEntry entry = entry(jar, name);
+      if (entry == null) {
+        return null;
+      }
+      return new Resource() {
+        @Override
+        public URL url() throws MalformedURLException {
+          return new URL(base + encode(entry.getName()));
+        }
+
+        @Override
+        public byte[] bytes() throws IOException {
+          try (InputStream in = jar.getInputStream(entry)) {
+            return read(in, (int) entry.getSize());
+          }
+        }
+
+        @Override
+        public CodeSigner[] signers() {
+          return entry.getCodeSigners();
+        }
+      };
+    }
+
+    private JarEntry entry(JarFile jar, String name) {
+      if (multiRelease) {
+        for (int version = RUNTIME_VERSION; version > 8; version--) {
+          JarEntry entry = jar.getJarEntry(ArtifactMetadata.VERSIONS_DIRECTORY + version + "/" + name);
+          if (entry != null) {
+            return entry;
+          }
+        }
+      }
+      return jar.getJarEntry(name);
+    }
+
+    @Override
+    Manifest manifest() throws IOException {
+      return jar().getManifest();
+    }
+
+    @Override
+    synchronized void close() {
+      closed = true;
+      if (jar != null) {
+        try {
+          jar.close();
+        } catch (IOException e) {
+          LOGGER.debug("Cannot close " + jar.getName(), e);
+        }
+      }
+    }
+
+    private static byte[] read(InputStream in, int size) throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(size > 0 ? size : 4096);
+      byte[] buffer = new byte[4096];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return out.toByteArray();
+    }
+  }
+
+  private static class DirectoryElement extends Element {
+
+    private final File root;
+
+    DirectoryElement(URL url, File root) {
+      super(url);
+      this.root = root;
+    }
+
+    @Override
+    Collection<String> directories() throws IOException {
+      Set<String> directories = new LinkedHashSet<>();
+      Path path = root.toPath();
+      try (Stream<Path> files = Files.walk(path)) {
+        files.forEach(file -> {
+          String relative = path.relativize(file).toString().replace(File.separatorChar, '/');
+          directories.add(ArtifactMetadata.directory(relative));
+          if (Files.isDirectory(file) && !relative.isEmpty()) {
+            directories.add(relative + "/");
+          }
+        });
+      }
+      return directories;
+    }
+
+    @Override
+    Resource find(String name) {
+      File file = new File(root, name.replace('/', File.separatorChar));
+      if (!file.exists()) {
+        return null;
+      }
+      return new Resource() {
+        @Override
+        public URL url() throws MalformedURLException {
+          return file.toURI().toURL();
+        }
+
+        @Override
+        public byte[] bytes() throws IOException {
+          return Files.readAllBytes(file.toPath());
+        }
+
+        @Override
+        public CodeSigner[] signers() {
+          return null;
+        }
+      };
+    }
+
+    @Override
+    Manifest manifest() throws IOException {
+      File file = new File(root, JarFile.MANIFEST_NAME.replace('/', File.separatorChar));
+      if (!file.isFile()) {
+        return null;
+      }
+      try (InputStream in = Files.newInputStream(file.toPath())) {
+        return new Manifest(in);
+      }
+    }
+
+    @Override
+    void close() {
+    }
+  }
+}
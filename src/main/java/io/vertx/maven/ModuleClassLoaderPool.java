@@ -0,0 +1,154 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven;
+
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Shares the module classloaders between the deployments using the same classpath. Each deployment (and each
+ * verticle instance) retains the loader it uses, the loader is closed when the last one releases it.
+ */
+class ModuleClassLoaderPool {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ModuleClassLoaderPool.class);
+
+  private final BiFunction<URL[], ClassLoader, URLClassLoader> factory;
+  private final Map<Key, Entry> entries = new HashMap<>();
+  private final Map<URLClassLoader, Entry> byLoader = new IdentityHashMap<>();
+
+  ModuleClassLoaderPool() {
+    this(URLClassLoader::new);
+  }
+
+  /**
+   * @param factory creates the loader of a classpath
+   */
+  ModuleClassLoaderPool(BiFunction<URL[], ClassLoader, URLClassLoader> factory) {
+    this.factory = factory;
+  }
+
+  /**
+   * Gets the loader of the given classpath, creating it if there is none. The returned loader is retained and must
+   * be {@link #release(URLClassLoader) released}.
+   *
+   * @param urls   the ordered classpath
+   * @param parent the parent classloader
+   * @return the loader
+   */
+  synchronized URLClassLoader acquire(URL[] urls, ClassLoader parent) {
+    Key key = new Key(urls, parent);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      entry = new Entry(key, factory.apply(urls, parent));
+      entries.put(key, entry);
+      byLoader.put(entry.loader, entry);
+    }
+    entry.references++;
+    return entry.loader;
+  }
+
+  /**
+   * Retains a loader already obtained from {@link #acquire(URL[], ClassLoader)}.
+   *
+   * @param loader the loader
+   */
+  synchronized void retain(URLClassLoader loader) {
+    Entry entry = byLoader.get(loader);
+    if (entry == null) {
+      throw new IllegalStateException("The classloader has already been closed");
+    }
+    entry.references++;
+  }
+
+  /**
+   * Releases a loader, closing it when it is not used anymore.
+   *
+   * @param loader the loader
+   */
+  void release(URLClassLoader loader) {
+    synchronized (this) {
+      Entry entry = byLoader.get(loader);
+      if (entry == null || --entry.references > 0) {
+        return;
+      }
+      byLoader.remove(loader);
+      entries.remove(entry.key);
+    }
+    try {
+      loader.close();
+    } catch (IOException e) {
+      LOGGER.warn("Cannot close the module classloader: " + e.getMessage());
+    }
+  }
+
+  /**
+   * @return the number of open classloaders.
+   */
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private static class Entry {
+    final Key key;
+    final URLClassLoader loader;
+    int references;
+
+    Entry(Key key, URLClassLoader loader) {
+      this.key = key;
+      this.loader = loader;
+    }
+  }
+
+  private static class Key {
+    // URLs are compared as strings, URL#equals resolves the host names
+    final List<String> classpath;
+    final ClassLoader parent;
+
+    Key(URL[] urls, ClassLoader parent) {
+      this.classpath = new ArrayList<>(urls.length);
+      for (URL url : urls) {
+        classpath.add(url.toExternalForm());
+      }
+      this.parent = parent;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+
+      Key that = (Key) o;
+      return parent == that.parent && classpath.equals(that.classpath);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * classpath.hashCode() + System.identityHashCode(parent);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven;
+
+import io.vertx.core.Context;
+import io.vertx.core.Promise;
+import io.vertx.core.Verticle;
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wraps a verticle loaded from a Maven module, to release the resources of the module (its classloader) when the
+ * verticle is undeployed or fails to initialize or start.
+ */
+class ModuleVerticle implements Verticle {
+
+  private final Verticle verticle;
+  private final Runnable onRelease;
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  ModuleVerticle(Verticle verticle, Runnable onRelease) {
+    this.verticle = verticle;
+    this.onRelease = onRelease;
+  }
+
+  @Override
+  public Vertx getVertx() {
+    return verticle.getVertx();
+  }
+
+  @Override
+  public void init(Vertx vertx, Context context) {
+    try {
+      verticle.init(vertx, context);
+    } catch (RuntimeException | Error e) {
+      release();
+      throw e;
+    }
+  }
+
+  @Override
+  public void start(Promise<Void> startPromise) throws Exception {
+    Promise<Void> promise = Promise.promise();
+    promise.future().onComplete(ar -> {
+      if (ar.failed()) {
+        release();
+      }
+      startPromise.handle(ar);
+    });
+    try {
+      verticle.start(promise);
+    } catch (Exception e) {
+      release();
+      throw e;
+    }
+  }
+
+  @Override
+  public void stop(Promise<Void> stopPromise) throws Exception {
+    Promise<Void> promise = Promise.promise();
+    promise.future().onComplete(ar -> {
+      release();
+      stopPromise.handle(ar);
+    });
+    try {
+      verticle.stop(promise);
+    } catch (Exception e) {
+      release();
+      throw e;
+    }
+  }
+
+  void release() {
+    if (released.compareAndSet(false, true)) {
+      onRelease.run();
+    }
+  }
+}
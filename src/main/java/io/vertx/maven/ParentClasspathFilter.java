@@ -0,0 +1,101 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven;
+
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import org.eclipse.aether.artifact.Artifact;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks whether the resolved artifacts are already provided by the parent classloader, using the
+ * {@code pom.properties} files Maven stores in the jars. The lookups are cached per parent classloader, as a miss
+ * scans the whole parent classpath.
+ */
+class ParentClasspathFilter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ParentClasspathFilter.class);
+
+  private final ParentClasspathPolicy policy;
+  private final Map<ClassLoader, Map<String, Optional<String>>> versions = new WeakHashMap<>();
+
+  ParentClasspathFilter(ParentClasspathPolicy policy) {
+    this.policy = policy;
+  }
+
+  /**
+   * @param artifact the artifact
+   * @param parent   the parent classloader, {@code null} for the bootstrap classloader
+   * @return {@code true} if the artifact can be left out of the module classpath
+   */
+  boolean isProvided(Artifact artifact, ClassLoader parent) {
+    if (policy == ParentClasspathPolicy.NONE || parent == null) {
+      return false;
+    }
+    // Classified artifacts (natives, tests...) share the pom.properties of the main artifact
+    if (!"jar".equals(artifact.getExtension()) || !artifact.getClassifier().isEmpty()) {
+      return false;
+    }
+    String version = version(parent, artifact.getGroupId(), artifact.getArtifactId());
+    if (version == null) {
+      return false;
+    }
+    if (policy == ParentClasspathPolicy.ANY_VERSION || version.equals(artifact.getBaseVersion())
+        || version.equals(artifact.getVersion())) {
+      return true;
+    }
+    LOGGER.debug(artifact + " is added to the module classpath, the parent classloader provides version " + version);
+    return false;
+  }
+
+  private String version(ClassLoader parent, String groupId, String artifactId) {
+    Map<String, Optional<String>> cache;
+    synchronized (versions) {
+      cache = versions.computeIfAbsent(parent, cl -> new ConcurrentHashMap<>());
+    }
+    return cache.computeIfAbsent(groupId + ":" + artifactId, ga -> Optional.ofNullable(lookup(parent, groupId, artifactId)))
+        .orElse(null);
+  }
+
+  private static String lookup(ClassLoader parent, String groupId, String artifactId) {
+    URL url = parent.getResource("META-INF/maven/" + groupId + "/" + artifactId + "/pom.properties");
+    if (url == null) {
+      return null;
+    }
+    Properties properties = new Properties();
+    try {
+      URLConnection connection = url.openConnection();
+      // Do not keep a cached handle on the parent jar
+      connection.setUseCaches(false);
+      try (InputStream in = connection.getInputStream()) {
+        properties.load(in);
+      }
+    } catch (Exception e) {
+      LOGGER.debug("Cannot read " + url, e);
+      return null;
+    }
+    return properties.getProperty("version");
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven;
+
+/**
+ * Defines which resolved artifacts are left out of the module classpath because the parent classloader already
+ * provides them. An artifact is considered as provided when the parent exposes its
+ * {@code META-INF/maven/<groupId>/<artifactId>/pom.properties} file. The module artifact itself is always part of
+ * the module classpath.
+ */
+public enum ParentClasspathPolicy {
+
+  /**
+   * All the resolved artifacts are added to the module classpath.
+   */
+  NONE,
+
+  /**
+   * The artifacts provided by the parent classloader with the same version are not added to the module classpath.
+   */
+  SAME_VERSION,
+
+  /**
+   * The artifacts provided by the parent classloader are not added to the module classpath, whatever their version.
+   */
+  ANY_VERSION
+}
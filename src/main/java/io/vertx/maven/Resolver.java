@@ -16,11 +16,18 @@
 
 package io.vertx.maven;
 
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.maven.resolver.ResolutionOptions;
+import io.vertx.maven.resolver.ResolutionReport;
 import io.vertx.maven.resolver.ResolverImpl;
 import org.eclipse.aether.artifact.Artifact;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Interface implemented by resolver. Resolvers are responsible for the resolution of the dependencies.
@@ -39,6 +46,89 @@ public interface Resolver {
    */
   List<Artifact> resolve(String dependency, ResolutionOptions options);
 
+  /**
+   * Resolves a dependency asynchronously.
+   * <p/>
+   * The default implementation runs {@link #resolve(String, ResolutionOptions)} on the Vert.x worker pool.
+   * Implementations can override it to avoid blocking a worker thread when the result is already known.
+   *
+   * @param vertx      the Vert.x instance
+   * @param dependency the dependency, using the GACV form.
+   * @param options    the resolution options
+   * @return a future completed with the list of resolved artifacts. The first artifact of the list if the artifact
+   * for the given dependency.
+   */
+  default Future<List<Artifact>> resolve(Vertx vertx, String dependency, ResolutionOptions options) {
+    return vertx.executeBlocking(promise -> promise.complete(resolve(dependency, options)), false);
+  }
+
+  /**
+   * Resolves a dependency asynchronously and reports how it has been resolved: the repository each artifact comes
+   * from, the downloaded files and the time spent in each phase.
+   * <p/>
+   * The default implementation uses {@link #resolve(Vertx, String, ResolutionOptions)} and only reports the
+   * artifacts and the duration of the resolution.
+   *
+   * @param vertx      the Vert.x instance
+   * @param dependency the dependency, using the GACV form.
+   * @param options    the resolution options
+   * @return a future completed with the report of the resolution
+   */
+  default Future<ResolutionReport> resolveWithReport(Vertx vertx, String dependency, ResolutionOptions options) {
+    long begin = System.nanoTime();
+    return resolve(vertx, dependency, options).map(artifacts -> new ResolutionReport(dependency,
+        artifacts.stream()
+            .map(artifact -> new ResolutionReport.ArtifactReport(artifact, null, false, 0))
+            .collect(Collectors.toList()),
+        false, 0, Collections.emptyMap(), System.nanoTime() - begin));
+  }
+
+  /**
+   * Resolves several dependencies at once.
+   * <p/>
+   * The default implementation resolves the dependencies one after the other. Implementations can override it to
+   * share the work common to the dependencies (descriptors, downloads).
+   *
+   * @param dependencies the dependencies, using the GACV form, with their resolution options
+   * @return the resolved artifacts of each dependency, in the iteration order of the given map. The first artifact
+   * of each list is the artifact of the dependency.
+   * @throws IllegalArgumentException if one of the dependencies cannot be resolved
+   */
+  default Map<String, List<Artifact>> resolveAll(Map<String, ResolutionOptions> dependencies) {
+    Map<String, List<Artifact>> resolved = new LinkedHashMap<>();
+    dependencies.forEach((dependency, options) -> resolved.put(dependency, resolve(dependency, options)));
+    return resolved;
+  }
+
+  /**
+   * Resolves several dependencies at once, asynchronously.
+   * <p/>
+   * The default implementation runs {@link #resolveAll(Map)} on the Vert.x worker pool.
+   *
+   * @param vertx        the Vert.x instance
+   * @param dependencies the dependencies, using the GACV form, with their resolution options
+   * @return a future completed with the resolved artifacts of each dependency
+   */
+  default Future<Map<String, List<Artifact>>> resolveAll(Vertx vertx, Map<String, ResolutionOptions> dependencies) {
+    return vertx.executeBlocking(promise -> promise.complete(resolveAll(dependencies)), false);
+  }
+
+  /**
+   * Initializes the resolver with the Vert.x instance it is used with. It is called by the
+   * {@link MavenVerticleFactory} when the factory is registered. The default implementation does nothing.
+   *
+   * @param vertx the Vert.x instance
+   */
+  default void init(Vertx vertx) {
+  }
+
+  /**
+   * Releases the resources held by the resolver. It is called by the {@link MavenVerticleFactory} when the factory
+   * is closed. The default implementation does nothing.
+   */
+  default void close() {
+  }
+
   /**
    * Creates a {@link Resolver} using the default implementation and default options.
    *
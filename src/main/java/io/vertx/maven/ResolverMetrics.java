@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven;
+
+/**
+ * Receives the measurements of the resolution and the deployment of the Maven modules. It is set with
+ * {@link ResolverOptions#setMetrics(ResolverMetrics)}, {@code io.vertx.maven.metrics.MicrometerResolverMetrics}
+ * records them in a Micrometer registry.
+ * <p/>
+ * The methods are called from the resolution threads, they must not block. The default implementations do nothing.
+ */
+public interface ResolverMetrics {
+
+  /**
+   * The metrics ignoring all the measurements.
+   */
+  ResolverMetrics NONE = new ResolverMetrics() {
+  };
+
+  /**
+   * The phases of the deployment of a module.
+   */
+  enum Phase {
+    /**
+     * The collection of the dependency graph, reading the descriptors (POMs) of the artifacts.
+     */
+    COLLECT,
+    /**
+     * The resolution of the files of the artifacts, downloading the missing ones.
+     */
+    DOWNLOAD,
+    /**
+     * The creation of the module classloader.
+     */
+    CLASSLOADER,
+    /**
+     * The creation of the verticle factory: reading the service descriptor and loading the verticle class.
+     */
+    VERTICLE
+  }
+
+  /**
+   * A resolution succeeded.
+   *
+   * @param cached   whether or not the resolution has been served without contacting the repositories: from the
+   *                 resolution cache, the local repository, the resolution index, or a concurrent resolution
+   * @param duration the duration in nanoseconds
+   */
+  default void resolutionSucceeded(boolean cached, long duration) {
+  }
+
+  /**
+   * A resolution failed.
+   *
+   * @param duration the duration in nanoseconds
+   */
+  default void resolutionFailed(long duration) {
+  }
+
+  /**
+   * A file (artifact or descriptor) has been downloaded.
+   *
+   * @param repository the url of the remote repository
+   * @param bytes      the number of bytes downloaded
+   * @param duration   the duration in nanoseconds
+   */
+  default void downloadSucceeded(String repository, long bytes, long duration) {
+  }
+
+  /**
+   * The download of a file failed, including when the repository does not have it.
+   *
+   * @param repository the url of the remote repository
+   * @param duration   the duration in nanoseconds
+   */
+  default void downloadFailed(String repository, long duration) {
+  }
+
+  /**
+   * The circuit breaker of a remote repository opened or closed, see
+   * {@link ResolverOptions#setRepositoryFailureThreshold(int)}.
+   *
+   * @param repository the url of the remote repository
+   * @param available  {@code false} when the repository is skipped by the resolutions, {@code true} when it is used
+   *                   again
+   */
+  default void repositoryAvailabilityChanged(String repository, boolean available) {
+  }
+
+  /**
+   * A phase of the deployment of a module completed.
+   *
+   * @param phase    the phase
+   * @param duration the duration in nanoseconds
+   */
+  default void phaseCompleted(Phase phase, long duration) {
+  }
+}
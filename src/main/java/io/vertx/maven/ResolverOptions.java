@@ -16,9 +16,16 @@
 
 package io.vertx.maven;
 
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Options to configure the resolver.
@@ -34,6 +41,18 @@ public class ResolverOptions {
 
   public static final String REMOTE_SNAPSHOT_POLICY_SYS_PROP = "vertx.maven.remoteSnapshotPolicy";
 
+  public static final String RESOLUTION_INDEX_SYS_PROP = "vertx.maven.resolutionIndex";
+
+  public static final String PARENT_CLASSPATH_POLICY_SYS_PROP = "vertx.maven.parentClasspathPolicy";
+
+  public static final String INDEXED_CLASSLOADER_SYS_PROP = "vertx.maven.indexedClassLoader";
+
+  public static final String PRE_RESOLVED_MODULES_SYS_PROP = "vertx.maven.preResolve";
+
+  public static final String OFFLINE_SYS_PROP = "vertx.maven.offline";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResolverOptions.class);
+
   private static final String USER_HOME = System.getProperty("user.home");
   private static final String FILE_SEP = System.getProperty("file.separator");
   private static final String DEFAULT_MAVEN_LOCAL = USER_HOME + FILE_SEP + ".m2" + FILE_SEP + "repository";
@@ -41,6 +60,83 @@ public class ResolverOptions {
       "http://central.maven.org/maven2/ https://s01.oss.sonatype.org/content/repositories/snapshots/";
   private static final String DEFAULT_REMOTE_SNAPSHOT_POLICY = "daily";
 
+  /**
+   * The default maximum number of resolutions kept in memory: 256.
+   */
+  public static final int DEFAULT_RESOLUTION_CACHE_SIZE = 256;
+
+  /**
+   * The default time to live of cached SNAPSHOT resolutions: 0, they are not cached.
+   */
+  public static final long DEFAULT_SNAPSHOT_CACHE_TTL = 0;
+
+  /**
+   * The default name of the worker pool dedicated to the resolution: {@code vert.x-maven-resolver}.
+   */
+  public static final String DEFAULT_WORKER_POOL_NAME = "vert.x-maven-resolver";
+
+  /**
+   * The default size of the worker pool dedicated to the resolution: 0, the Vert.x worker pool is used.
+   */
+  public static final int DEFAULT_WORKER_POOL_SIZE = 0;
+
+  /**
+   * The default maximum execution time of a resolution before a warning is logged: 5 minutes.
+   */
+  public static final long DEFAULT_MAX_WORKER_EXECUTE_TIME = 5;
+
+  /**
+   * The default unit of the maximum execution time: {@link TimeUnit#MINUTES}.
+   */
+  public static final TimeUnit DEFAULT_MAX_WORKER_EXECUTE_TIME_UNIT = TimeUnit.MINUTES;
+
+  /**
+   * The default number of concurrent downloads per remote repository: 5.
+   */
+  public static final int DEFAULT_DOWNLOAD_THREADS = 5;
+
+  /**
+   * The default time during which a failed resolution is remembered: 0, failures are not remembered.
+   */
+  public static final long DEFAULT_FAILURE_CACHE_TTL = 0;
+
+  /**
+   * The default maximum time during which a failed resolution is remembered: 5 minutes.
+   */
+  public static final long DEFAULT_MAX_FAILURE_CACHE_TTL = 5 * 60 * 1000;
+
+  /**
+   * The default policy applied to the artifacts already provided by the parent classloader:
+   * {@link ParentClasspathPolicy#SAME_VERSION}.
+   */
+  public static final ParentClasspathPolicy DEFAULT_PARENT_CLASSPATH_POLICY = ParentClasspathPolicy.SAME_VERSION;
+
+  /**
+   * The default timeout to connect to a remote repository: 10 seconds.
+   */
+  public static final long DEFAULT_CONNECT_TIMEOUT = 10 * 1000;
+
+  /**
+   * The default timeout between two packets read from a remote repository: 30 minutes.
+   */
+  public static final long DEFAULT_READ_TIMEOUT = 30 * 60 * 1000;
+
+  /**
+   * The default maximum duration of a resolution: 0, resolutions are not limited.
+   */
+  public static final long DEFAULT_RESOLUTION_TIMEOUT = 0;
+
+  /**
+   * The default number of consecutive failures after which a remote repository is skipped: 0, repositories are never
+   * skipped.
+   */
+  public static final int DEFAULT_REPOSITORY_FAILURE_THRESHOLD = 0;
+
+  /**
+   * The default time during which a failing remote repository is skipped: 30 seconds.
+   */
+  public static final long DEFAULT_REPOSITORY_COOL_OFF = 30 * 1000;
+
   private String localRepository = System.getProperty(LOCAL_REPO_SYS_PROP, DEFAULT_MAVEN_LOCAL);
 
   private List<String> remoteRepositories =
@@ -52,6 +148,43 @@ public class ResolverOptions {
   private String remoteSnapshotPolicy = System.getProperty(REMOTE_SNAPSHOT_POLICY_SYS_PROP,
       DEFAULT_REMOTE_SNAPSHOT_POLICY);
 
+  private int resolutionCacheSize = DEFAULT_RESOLUTION_CACHE_SIZE;
+  private long snapshotCacheTtl = DEFAULT_SNAPSHOT_CACHE_TTL;
+
+  private String workerPoolName = DEFAULT_WORKER_POOL_NAME;
+  private int workerPoolSize = DEFAULT_WORKER_POOL_SIZE;
+  private long maxWorkerExecuteTime = DEFAULT_MAX_WORKER_EXECUTE_TIME;
+  private TimeUnit maxWorkerExecuteTimeUnit = DEFAULT_MAX_WORKER_EXECUTE_TIME_UNIT;
+
+  private int downloadThreads = DEFAULT_DOWNLOAD_THREADS;
+
+  private boolean resolutionIndex = Boolean.getBoolean(RESOLUTION_INDEX_SYS_PROP);
+
+  private long failureCacheTtl = DEFAULT_FAILURE_CACHE_TTL;
+  private long maxFailureCacheTtl = DEFAULT_MAX_FAILURE_CACHE_TTL;
+
+  private ParentClasspathPolicy parentClasspathPolicy =
+      parentClasspathPolicy(System.getProperty(PARENT_CLASSPATH_POLICY_SYS_PROP));
+
+  private boolean indexedClassLoader = Boolean.getBoolean(INDEXED_CLASSLOADER_SYS_PROP);
+
+  private List<String> preResolvedModules = modules(System.getProperty(PRE_RESOLVED_MODULES_SYS_PROP));
+
+  private boolean offline = Boolean.getBoolean(OFFLINE_SYS_PROP);
+
+  private ResolverMetrics metrics = ResolverMetrics.NONE;
+
+  private long connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+  private long readTimeout = DEFAULT_READ_TIMEOUT;
+  private Map<String, Long> repositoryConnectTimeouts = new HashMap<>();
+  private Map<String, Long> repositoryReadTimeouts = new HashMap<>();
+  private long resolutionTimeout = DEFAULT_RESOLUTION_TIMEOUT;
+
+  private int repositoryFailureThreshold = DEFAULT_REPOSITORY_FAILURE_THRESHOLD;
+  private long repositoryCoolOff = DEFAULT_REPOSITORY_COOL_OFF;
+
+  private boolean latencyAwareOrdering;
+
   /**
    * @return the configured proxy address for HTTP request, {@code null} if none.
    */
@@ -151,4 +284,532 @@ public class ResolverOptions {
     this.remoteSnapshotPolicy = remoteSnapshotPolicy;
     return this;
   }
+
+  /**
+   * @return the maximum number of resolution results kept in memory.
+   */
+  public int getResolutionCacheSize() {
+    return resolutionCacheSize;
+  }
+
+  /**
+   * Sets the maximum number of resolution results kept in memory (256 by default). Resolving the same coordinates
+   * with the same {@link io.vertx.maven.resolver.ResolutionOptions} again is served from this cache, the least
+   * recently used results are evicted first. Set it to {@code 0} to disable the cache.
+   *
+   * @param resolutionCacheSize the cache size
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setResolutionCacheSize(int resolutionCacheSize) {
+    if (resolutionCacheSize < 0) {
+      throw new IllegalArgumentException("The resolution cache size must be positive");
+    }
+    this.resolutionCacheSize = resolutionCacheSize;
+    return this;
+  }
+
+  /**
+   * @return the time to live of cached SNAPSHOT resolutions in milliseconds.
+   */
+  public long getSnapshotCacheTtl() {
+    return snapshotCacheTtl;
+  }
+
+  /**
+   * Sets the time to live in milliseconds of the cached resolutions involving a SNAPSHOT artifact. By default it's
+   * {@code 0}, meaning SNAPSHOT resolutions are not cached and always go through the remote snapshot policy.
+   *
+   * @param snapshotCacheTtl the time to live in milliseconds
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setSnapshotCacheTtl(long snapshotCacheTtl) {
+    if (snapshotCacheTtl < 0) {
+      throw new IllegalArgumentException("The snapshot cache time to live must be positive");
+    }
+    this.snapshotCacheTtl = snapshotCacheTtl;
+    return this;
+  }
+
+  /**
+   * @return the name of the worker pool dedicated to the resolution.
+   */
+  public String getWorkerPoolName() {
+    return workerPoolName;
+  }
+
+  /**
+   * Sets the name of the worker pool dedicated to the resolution ({@code vert.x-maven-resolver} by default). It is
+   * only used when the {@link #setWorkerPoolSize(int) worker pool size} is set.
+   *
+   * @param workerPoolName the pool name
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setWorkerPoolName(String workerPoolName) {
+    this.workerPoolName = workerPoolName;
+    return this;
+  }
+
+  /**
+   * @return the size of the worker pool dedicated to the resolution, {@code 0} if the Vert.x worker pool is used.
+   */
+  public int getWorkerPoolSize() {
+    return workerPoolSize;
+  }
+
+  /**
+   * Sets the size of the worker pool dedicated to the resolution. When set, the asynchronous resolutions run on a
+   * named worker executor instead of the Vert.x worker pool, so slow resolutions do not compete with the other
+   * blocking tasks of the application. By default it's {@code 0}, and the Vert.x worker pool is used.
+   *
+   * @param workerPoolSize the pool size
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setWorkerPoolSize(int workerPoolSize) {
+    if (workerPoolSize < 0) {
+      throw new IllegalArgumentException("The worker pool size must be positive");
+    }
+    this.workerPoolSize = workerPoolSize;
+    return this;
+  }
+
+  /**
+   * @return the maximum execution time of a resolution on the dedicated worker pool.
+   */
+  public long getMaxWorkerExecuteTime() {
+    return maxWorkerExecuteTime;
+  }
+
+  /**
+   * Sets the maximum execution time of a resolution on the dedicated worker pool, Vert.x logs a warning when a
+   * resolution takes longer. By default it's 5 minutes.
+   *
+   * @param maxWorkerExecuteTime the maximum execution time, in {@link #getMaxWorkerExecuteTimeUnit()}
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setMaxWorkerExecuteTime(long maxWorkerExecuteTime) {
+    if (maxWorkerExecuteTime < 1) {
+      throw new IllegalArgumentException("The maximum worker execute time must be > 0");
+    }
+    this.maxWorkerExecuteTime = maxWorkerExecuteTime;
+    return this;
+  }
+
+  /**
+   * @return the unit of the maximum execution time.
+   */
+  public TimeUnit getMaxWorkerExecuteTimeUnit() {
+    return maxWorkerExecuteTimeUnit;
+  }
+
+  /**
+   * Sets the unit of the maximum execution time, {@link TimeUnit#MINUTES} by default.
+   *
+   * @param maxWorkerExecuteTimeUnit the time unit
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setMaxWorkerExecuteTimeUnit(TimeUnit maxWorkerExecuteTimeUnit) {
+    this.maxWorkerExecuteTimeUnit = maxWorkerExecuteTimeUnit;
+    return this;
+  }
+
+  /**
+   * @return the number of concurrent downloads per remote repository.
+   */
+  public int getDownloadThreads() {
+    return downloadThreads;
+  }
+
+  /**
+   * Sets the number of artifacts downloaded concurrently from a remote repository once the dependency graph has been
+   * collected (5 by default).
+   *
+   * @param downloadThreads the number of download threads
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setDownloadThreads(int downloadThreads) {
+    if (downloadThreads < 1) {
+      throw new IllegalArgumentException("The number of download threads must be > 0");
+    }
+    this.downloadThreads = downloadThreads;
+    return this;
+  }
+
+  /**
+   * @return whether or not the resolutions are recorded in a persistent index stored in the local repository.
+   */
+  public boolean isResolutionIndex() {
+    return resolutionIndex;
+  }
+
+  /**
+   * Sets whether or not the release resolutions are recorded in a persistent index stored in the local repository
+   * ({@code false} by default, or the value of the {@code vertx.maven.resolutionIndex} system property). When
+   * enabled, resolving coordinates already resolved by a previous process only checks that the resolved files are
+   * still in the local repository instead of collecting the dependency graph again. Without the index, only the
+   * resolutions without the dependencies can skip the repository session after a restart.
+   *
+   * @param resolutionIndex whether or not the persistent resolution index is enabled
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setResolutionIndex(boolean resolutionIndex) {
+    this.resolutionIndex = resolutionIndex;
+    return this;
+  }
+
+  /**
+   * @return the time during which a failed resolution is remembered, in milliseconds.
+   */
+  public long getFailureCacheTtl() {
+    return failureCacheTtl;
+  }
+
+  /**
+   * Sets the time in milliseconds during which a failed resolution is remembered. Resolving the same coordinates
+   * again during this period fails immediately, without contacting the repositories. The period doubles after each
+   * consecutive failure, up to {@link #getMaxFailureCacheTtl()}. By default it's {@code 0}, and failures are not
+   * remembered.
+   *
+   * @param failureCacheTtl the time to live in milliseconds
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setFailureCacheTtl(long failureCacheTtl) {
+    if (failureCacheTtl < 0) {
+      throw new IllegalArgumentException("The failure cache time to live must be positive");
+    }
+    this.failureCacheTtl = failureCacheTtl;
+    return this;
+  }
+
+  /**
+   * @return the maximum time during which a failed resolution is remembered, in milliseconds.
+   */
+  public long getMaxFailureCacheTtl() {
+    return maxFailureCacheTtl;
+  }
+
+  /**
+   * Sets the maximum time in milliseconds during which a failed resolution is remembered, reached after consecutive
+   * failures (5 minutes by default).
+   *
+   * @param maxFailureCacheTtl the maximum time to live in milliseconds
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setMaxFailureCacheTtl(long maxFailureCacheTtl) {
+    if (maxFailureCacheTtl < 0) {
+      throw new IllegalArgumentException("The maximum failure cache time to live must be positive");
+    }
+    this.maxFailureCacheTtl = maxFailureCacheTtl;
+    return this;
+  }
+
+  /**
+   * @return the policy applied to the resolved artifacts already provided by the parent classloader.
+   */
+  public ParentClasspathPolicy getParentClasspathPolicy() {
+    return parentClasspathPolicy;
+  }
+
+  /**
+   * Sets the policy applied to the resolved artifacts already provided by the parent classloader (e.g. Vert.x itself,
+   * Netty or Jackson). Such artifacts are left out of the module classpath, so they are not scanned nor loaded twice.
+   * By default, an artifact is left out when the parent provides the same version
+   * ({@link ParentClasspathPolicy#SAME_VERSION}, or the value of the {@code vertx.maven.parentClasspathPolicy} system
+   * property).
+   *
+   * @param parentClasspathPolicy the policy, must not be {@code null}
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setParentClasspathPolicy(ParentClasspathPolicy parentClasspathPolicy) {
+    if (parentClasspathPolicy == null) {
+      throw new IllegalArgumentException("The parent classpath policy must not be null");
+    }
+    this.parentClasspathPolicy = parentClasspathPolicy;
+    return this;
+  }
+
+  /**
+   * @return whether or not the module classloaders index the content of their classpath.
+   */
+  public boolean isIndexedClassLoader() {
+    return indexedClassLoader;
+  }
+
+  /**
+   * Sets whether or not the module classloaders index the directories of their classpath when they are created
+   * ({@code false} by default, or the value of the {@code vertx.maven.indexedClassLoader} system property). An indexed
+   * classloader looks up a class or a resource only in the jars containing its package, instead of scanning every
+   * jar of the module.
+   *
+   * @param indexedClassLoader whether or not the module classloaders are indexed
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setIndexedClassLoader(boolean indexedClassLoader) {
+    this.indexedClassLoader = indexedClassLoader;
+    return this;
+  }
+
+  /**
+   * @return the modules resolved in the background when the {@link MavenVerticleFactory} is initialized.
+   */
+  public List<String> getPreResolvedModules() {
+    return preResolvedModules;
+  }
+
+  /**
+   * Sets the modules resolved in the background when the {@link MavenVerticleFactory} is initialized, so their
+   * deployment does not wait for their resolution. The modules use the deployment form
+   * ({@code groupId:artifactId:version[::service]}, optionally prefixed with {@code maven:}). By default, the
+   * modules are read from the {@code vertx.maven.preResolve} system property, a space-delimited list.
+   *
+   * @param preResolvedModules the modules
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setPreResolvedModules(List<String> preResolvedModules) {
+    this.preResolvedModules = preResolvedModules == null ? new ArrayList<>() : new ArrayList<>(preResolvedModules);
+    return this;
+  }
+
+  /**
+   * @return whether or not the resolver works offline, from the local repository only.
+   */
+  public boolean isOffline() {
+    return offline;
+  }
+
+  /**
+   * Sets whether or not the resolver works offline ({@code false} by default, or the value of the
+   * {@code vertx.maven.offline} system property). An offline resolver never contacts the remote repositories: the
+   * files of the local repository are used whatever the repository they come from, and the resolution fails
+   * immediately when an artifact is missing from the local repository.
+   *
+   * @param offline whether or not the resolver works offline
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setOffline(boolean offline) {
+    this.offline = offline;
+    return this;
+  }
+
+  /**
+   * @return the metrics receiving the measurements of the resolution and the deployment of the modules.
+   */
+  public ResolverMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Sets the metrics receiving the measurements of the resolution and the deployment of the modules: resolutions,
+   * cache hits, downloads per repository and duration of each phase. By default, nothing is measured.
+   *
+   * @param metrics the metrics, must not be {@code null}
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setMetrics(ResolverMetrics metrics) {
+    if (metrics == null) {
+      throw new IllegalArgumentException("The metrics must not be null");
+    }
+    this.metrics = metrics;
+    return this;
+  }
+
+  /**
+   * @return the timeout to connect to a remote repository, in milliseconds.
+   */
+  public long getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  /**
+   * Sets the timeout in milliseconds to connect to the remote repositories (10 seconds by default). It can be
+   * overridden for a repository with {@link #putRepositoryConnectTimeout(String, long)}.
+   *
+   * @param connectTimeout the timeout in milliseconds
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setConnectTimeout(long connectTimeout) {
+    this.connectTimeout = timeout(connectTimeout, "connect");
+    return this;
+  }
+
+  /**
+   * @return the timeout between two packets read from a remote repository, in milliseconds.
+   */
+  public long getReadTimeout() {
+    return readTimeout;
+  }
+
+  /**
+   * Sets the timeout in milliseconds between two packets read from the remote repositories (30 minutes by default).
+   * It can be overridden for a repository with {@link #putRepositoryReadTimeout(String, long)}.
+   *
+   * @param readTimeout the timeout in milliseconds
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setReadTimeout(long readTimeout) {
+    this.readTimeout = timeout(readTimeout, "read");
+    return this;
+  }
+
+  /**
+   * @return the connect timeouts of the remote repositories overriding {@link #getConnectTimeout()}, by url.
+   */
+  public Map<String, Long> getRepositoryConnectTimeouts() {
+    return repositoryConnectTimeouts;
+  }
+
+  /**
+   * Sets the timeout in milliseconds to connect to a remote repository, overriding {@link #getConnectTimeout()}.
+   *
+   * @param repository     the url of the repository, as set in {@link #setRemoteRepositories(List)}
+   * @param connectTimeout the timeout in milliseconds
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions putRepositoryConnectTimeout(String repository, long connectTimeout) {
+    repositoryConnectTimeouts.put(repository, timeout(connectTimeout, "connect"));
+    return this;
+  }
+
+  /**
+   * @return the read timeouts of the remote repositories overriding {@link #getReadTimeout()}, by url.
+   */
+  public Map<String, Long> getRepositoryReadTimeouts() {
+    return repositoryReadTimeouts;
+  }
+
+  /**
+   * Sets the timeout in milliseconds between two packets read from a remote repository, overriding
+   * {@link #getReadTimeout()}.
+   *
+   * @param repository  the url of the repository, as set in {@link #setRemoteRepositories(List)}
+   * @param readTimeout the timeout in milliseconds
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions putRepositoryReadTimeout(String repository, long readTimeout) {
+    repositoryReadTimeouts.put(repository, timeout(readTimeout, "read"));
+    return this;
+  }
+
+  /**
+   * @return the maximum duration of a resolution in milliseconds, {@code 0} if resolutions are not limited.
+   */
+  public long getResolutionTimeout() {
+    return resolutionTimeout;
+  }
+
+  /**
+   * Sets the maximum duration in milliseconds of a resolution, including the wait for a worker thread. Once it has
+   * elapsed, the transfers in progress are aborted and the resolution fails. It can be set for a single resolution
+   * with {@link io.vertx.maven.resolver.ResolutionOptions#setTimeout(long)}. By default it's {@code 0}, and
+   * resolutions are only bounded by the connect and read timeouts.
+   *
+   * @param resolutionTimeout the timeout in milliseconds, {@code 0} to not limit the resolutions
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setResolutionTimeout(long resolutionTimeout) {
+    if (resolutionTimeout < 0) {
+      throw new IllegalArgumentException("The resolution timeout must be positive");
+    }
+    this.resolutionTimeout = resolutionTimeout;
+    return this;
+  }
+
+  /**
+   * @return the number of consecutive failures after which a remote repository is skipped, {@code 0} if
+   * repositories are never skipped.
+   */
+  public int getRepositoryFailureThreshold() {
+    return repositoryFailureThreshold;
+  }
+
+  /**
+   * Sets the number of consecutive failures after which a remote repository is skipped by the resolutions, for
+   * {@link #getRepositoryCoolOff()}. Connection failures, timeouts and server errors are failures, a missing artifact
+   * is not. Once the cool-off period has elapsed, the repository is probed in the background and used again when it
+   * answers. By default it's {@code 0}, and repositories are never skipped.
+   *
+   * @param repositoryFailureThreshold the number of consecutive failures, {@code 0} to never skip repositories
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setRepositoryFailureThreshold(int repositoryFailureThreshold) {
+    if (repositoryFailureThreshold < 0) {
+      throw new IllegalArgumentException("The repository failure threshold must be positive");
+    }
+    this.repositoryFailureThreshold = repositoryFailureThreshold;
+    return this;
+  }
+
+  /**
+   * @return the time during which a failing remote repository is skipped, in milliseconds.
+   */
+  public long getRepositoryCoolOff() {
+    return repositoryCoolOff;
+  }
+
+  /**
+   * Sets the time in milliseconds during which a failing remote repository is skipped before being probed again
+   * (30 seconds by default).
+   *
+   * @param repositoryCoolOff the time in milliseconds
+   * @return the current {@link ResolverOptions} instance
+   * @see #setRepositoryFailureThreshold(int)
+   */
+  public ResolverOptions setRepositoryCoolOff(long repositoryCoolOff) {
+    if (repositoryCoolOff < 0) {
+      throw new IllegalArgumentException("The repository cool-off must be positive");
+    }
+    this.repositoryCoolOff = repositoryCoolOff;
+    return this;
+  }
+
+  /**
+   * @return whether or not the remote repositories are queried by observed speed instead of their configured order.
+   */
+  public boolean isLatencyAwareOrdering() {
+    return latencyAwareOrdering;
+  }
+
+  /**
+   * Sets whether or not the remote repositories are queried by observed speed, the fastest first, instead of the
+   * order of {@link #getRemoteRepositories()}. The speed of a repository is measured from its latency and throughput
+   * during the downloads. It is meant for mirrors holding the same artifacts, as an artifact available in several
+   * repositories is then downloaded from the fastest one. Disabled by default.
+   *
+   * @param latencyAwareOrdering whether or not the repositories are ordered by speed
+   * @return the current {@link ResolverOptions} instance
+   */
+  public ResolverOptions setLatencyAwareOrdering(boolean latencyAwareOrdering) {
+    this.latencyAwareOrdering = latencyAwareOrdering;
+    return this;
+  }
+
+  private static long timeout(long timeout, String name) {
+    // The timeouts are given to the connectors as int values
+    if (timeout <= 0 || timeout > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid " + name + " timeout " + timeout);
+    }
+    return timeout;
+  }
+
+  private static ParentClasspathPolicy parentClasspathPolicy(String value) {
+    if (value != null) {
+      try {
+        return ParentClasspathPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        LOGGER.warn("Invalid parent classpath policy " + value + ", using " + DEFAULT_PARENT_CLASSPATH_POLICY);
+      }
+    }
+    return DEFAULT_PARENT_CLASSPATH_POLICY;
+  }
+
+  private static List<String> modules(String value) {
+    List<String> modules = new ArrayList<>();
+    if (value != null) {
+      for (String module : value.trim().split("\\s+")) {
+        if (!module.isEmpty()) {
+          modules.add(module);
+        }
+      }
+    }
+    return modules;
+  }
 }
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.jfr;
+
+/**
+ * Emits the JDK Flight Recorder events of the resolution and the deployment of the Maven modules:
+ * <ul>
+ * <li>{@code io.vertx.maven.Resolution}: a resolution, with the coordinates and the cache outcome</li>
+ * <li>{@code io.vertx.maven.Download}: the download of a file, with its size and repository</li>
+ * <li>{@code io.vertx.maven.ClassLoader}: the creation of a module classloader</li>
+ * <li>{@code io.vertx.maven.Manifest}: the lookup of the main verticle in the manifest of a module</li>
+ * </ul>
+ * The events are recorded like any other JFR event, e.g. with {@code -XX:StartFlightRecording}. When the JVM does
+ * not provide JFR, or when the events are not enabled in the recording, the {@code start} methods return
+ * {@code null} and the {@code end} methods do nothing.
+ */
+public final class DeploymentEvents {
+
+  private static final boolean AVAILABLE = isFlightRecorderAvailable();
+
+  private DeploymentEvents() {
+  }
+
+  /**
+   * @return whether or not the JVM provides the JDK Flight Recorder
+   */
+  public static boolean isAvailable() {
+    return AVAILABLE;
+  }
+
+  /**
+   * @return the started resolution event, {@code null} if it's not recorded
+   */
+  public static Object resolutionStarted() {
+    return AVAILABLE ? Events.RESOLUTION.begin() : null;
+  }
+
+  /**
+   * @param event        the event returned by {@link #resolutionStarted()}
+   * @param coordinates  the resolved coordinates
+   * @param transitive   whether or not the dependencies have been resolved
+   * @param outcome      {@code hit}, {@code miss} or {@code failure}
+   * @param artifacts    the number of resolved artifacts
+   */
+  public static void resolutionEnded(Object event, String coordinates, boolean transitive, String outcome,
+                                     int artifacts) {
+    if (event != null) {
+      Events.end(event, coordinates, transitive, outcome, artifacts);
+    }
+  }
+
+  /**
+   * @return the started download event, {@code null} if it's not recorded
+   */
+  public static Object downloadStarted() {
+    return AVAILABLE ? Events.DOWNLOAD.begin() : null;
+  }
+
+  /**
+   * @param event      the event returned by {@link #downloadStarted()}
+   * @param repository the url of the repository
+   * @param resource   the path of the file in the repository
+   * @param bytes      the number of bytes downloaded
+   * @param succeeded  whether or not the download succeeded
+   */
+  public static void downloadEnded(Object event, String repository, String resource, long bytes, boolean succeeded) {
+    if (event != null) {
+      Events.end(event, repository, resource, bytes, succeeded);
+    }
+  }
+
+  /**
+   * @return the started classloader event, {@code null} if it's not recorded
+   */
+  public static Object classLoaderStarted() {
+    return AVAILABLE ? Events.CLASS_LOADER.begin() : null;
+  }
+
+  /**
+   * @param event     the event returned by {@link #classLoaderStarted()}
+   * @param module    the coordinates of the module
+   * @param classpath the number of elements of the classpath
+   */
+  public static void classLoaderEnded(Object event, String module, int classpath) {
+    if (event != null) {
+      Events.end(event, module, classpath);
+    }
+  }
+
+  /**
+   * @return the started manifest event, {@code null} if it's not recorded
+   */
+  public static Object manifestStarted() {
+    return AVAILABLE ? Events.MANIFEST.begin() : null;
+  }
+
+  /**
+   * @param event        the event returned by {@link #manifestStarted()}
+   * @param file         the path of the module file
+   * @param mainVerticle the main verticle declared by the manifest, {@code null} if none
+   */
+  public static void manifestEnded(Object event, String file, String mainVerticle) {
+    if (event != null) {
+      Events.end(event, file, mainVerticle);
+    }
+  }
+
+  private static boolean isFlightRecorderAvailable() {
+    try {
+      // Defines the events, fails when the JVM does not provide the JDK Flight Recorder
+      Class.forName(Events.class.getName(), true, DeploymentEvents.class.getClassLoader());
+      return true;
+    } catch (Throwable e) {
+      return false;
+    }
+  }
+}
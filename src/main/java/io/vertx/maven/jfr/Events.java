@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.jfr;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The JFR events, only loaded when the JVM provides the JDK Flight Recorder. The project compiles with Java 8, so the
+ * events are defined at runtime with the {@code jdk.jfr.EventFactory} and used reflectively.
+ */
+final class Events {
+
+  private static final Method CREATE;
+  private static final Method NEW_EVENT;
+  private static final Method EVENT_TYPE;
+  private static final Method IS_ENABLED;
+  private static final Method BEGIN;
+  private static final Method END;
+  private static final Method SHOULD_COMMIT;
+  private static final Method SET;
+  private static final Method COMMIT;
+  private static final Constructor<?> ANNOTATION;
+  private static final Constructor<?> FIELD;
+
+  static {
+    try {
+      Class<?> factory = Class.forName("jdk.jfr.EventFactory");
+      Class<?> event = Class.forName("jdk.jfr.Event");
+      CREATE = factory.getMethod("create", List.class, List.class);
+      NEW_EVENT = factory.getMethod("newEvent");
+      EVENT_TYPE = factory.getMethod("getEventType");
+      IS_ENABLED = Class.forName("jdk.jfr.EventType").getMethod("isEnabled");
+      BEGIN = event.getMethod("begin");
+      END = event.getMethod("end");
+      SHOULD_COMMIT = event.getMethod("shouldCommit");
+      SET = event.getMethod("set", int.class, Object.class);
+      COMMIT = event.getMethod("commit");
+      ANNOTATION = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+      FIELD = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class, List.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  static final Events RESOLUTION = new Events("io.vertx.maven.Resolution", "Maven Resolution",
+      "The resolution of the artifacts of a module",
+      field(String.class, "coordinates", "Coordinates"),
+      field(boolean.class, "transitive", "Transitive"),
+      field(String.class, "outcome", "Outcome",
+          annotation("Description", "hit when served without contacting the repositories, miss or failure")),
+      field(int.class, "artifacts", "Artifacts"));
+
+  static final Events DOWNLOAD = new Events("io.vertx.maven.Download", "Maven Download",
+      "The download of a file from a remote repository",
+      field(String.class, "repository", "Repository"),
+      field(String.class, "resource", "Resource"),
+      field(long.class, "bytes", "Size", annotation("DataAmount", "BYTES")),
+      field(boolean.class, "succeeded", "Succeeded"));
+
+  static final Events CLASS_LOADER = new Events("io.vertx.maven.ClassLoader", "Maven Module ClassLoader",
+      "The creation of the classloader of a module",
+      field(String.class, "module", "Module"),
+      field(int.class, "classpath", "Classpath Size"));
+
+  static final Events MANIFEST = new Events("io.vertx.maven.Manifest", "Maven Module Manifest",
+      "The lookup of the main verticle in the manifest of a module",
+      field(String.class, "file", "File"),
+      field(String.class, "mainVerticle", "Main Verticle"));
+
+  private final Object factory;
+  private final Object type;
+
+  private Events(String name, String label, String description, Object... fields) {
+    List<Object> annotations = Arrays.asList(
+        annotation("Name", name),
+        annotation("Label", label),
+        annotation("Category", new String[]{"Vert.x", "Maven"}),
+        annotation("Description", description));
+    factory = invoke(CREATE, null, annotations, Arrays.asList(fields));
+    type = invoke(EVENT_TYPE, factory);
+  }
+
+  /**
+   * @return the started event, {@code null} if it's not enabled
+   */
+  Object begin() {
+    // Checked on the type, so no event is allocated when it is not recorded
+    if (!(Boolean) invoke(IS_ENABLED, type)) {
+      return null;
+    }
+    Object event = invoke(NEW_EVENT, factory);
+    invoke(BEGIN, event);
+    return event;
+  }
+
+  /**
+   * Ends the event and commits it with the given values, in the order of the fields of the event.
+   */
+  static void end(Object event, Object... values) {
+    invoke(END, event);
+    if ((Boolean) invoke(SHOULD_COMMIT, event)) {
+      for (int i = 0; i < values.length; i++) {
+        invoke(SET, event, i, values[i]);
+      }
+      invoke(COMMIT, event);
+    }
+  }
+
+  private static Object field(Class<?> type, String name, String label, Object... annotations) {
+    List<Object> list = new ArrayList<>(Collections.singletonList(annotation("Label", label)));
+    list.addAll(Arrays.asList(annotations));
+    try {
+      return FIELD.newInstance(type, name, list);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object annotation(String type, Object value) {
+    try {
+      Class<? extends Annotation> annotationType = (Class<? extends Annotation>) Class.forName("jdk.jfr." + type);
+      return ANNOTATION.newInstance(annotationType, value);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Object invoke(Method method, Object target, Object... args) {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException(cause);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
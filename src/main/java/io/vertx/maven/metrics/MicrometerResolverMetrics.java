@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.maven.ResolverMetrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the {@link ResolverMetrics} measurements in a Micrometer {@link MeterRegistry}:
+ * <ul>
+ * <li>{@code vertx.maven.resolution}: timer of the resolutions, tagged with their {@code outcome}: {@code hit} when
+ * served without contacting the repositories, {@code miss} or {@code failure}</li>
+ * <li>{@code vertx.maven.download}: timer of the downloads, tagged with the {@code repository} and the
+ * {@code outcome} ({@code success} or {@code failure})</li>
+ * <li>{@code vertx.maven.download.bytes}: counter of the downloaded bytes, tagged with the {@code repository}</li>
+ * <li>{@code vertx.maven.phase}: timer of the deployment phases, tagged with the {@code phase}</li>
+ * <li>{@code vertx.maven.repository.available}: gauge of the availability of the remote repositories tracked by
+ * their circuit breaker, {@code 1} when used and {@code 0} when skipped, tagged with the {@code repository}</li>
+ * </ul>
+ * Micrometer is an optional dependency, it must be added to the classpath to use this class.
+ */
+public class MicrometerResolverMetrics implements ResolverMetrics {
+
+  public static final String RESOLUTION = "vertx.maven.resolution";
+  public static final String DOWNLOAD = "vertx.maven.download";
+  public static final String DOWNLOAD_BYTES = "vertx.maven.download.bytes";
+  public static final String PHASE = "vertx.maven.phase";
+  public static final String REPOSITORY_AVAILABLE = "vertx.maven.repository.available";
+
+  private final MeterRegistry registry;
+  private final Timer hits;
+  private final Timer misses;
+  private final Timer failures;
+  private final Map<String, AtomicInteger> availability = new ConcurrentHashMap<>();
+
+  /**
+   * @param registry the registry of the meters
+   */
+  public MicrometerResolverMetrics(MeterRegistry registry) {
+    this.registry = registry;
+    this.hits = registry.timer(RESOLUTION, "outcome", "hit");
+    this.misses = registry.timer(RESOLUTION, "outcome", "miss");
+    this.failures = registry.timer(RESOLUTION, "outcome", "failure");
+  }
+
+  @Override
+  public void resolutionSucceeded(boolean cached, long duration) {
+    (cached ? hits : misses).record(duration, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void resolutionFailed(long duration) {
+    failures.record(duration, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void downloadSucceeded(String repository, long bytes, long duration) {
+    registry.timer(DOWNLOAD, "repository", repository, "outcome", "success")
+        .record(duration, TimeUnit.NANOSECONDS);
+    Counter.builder(DOWNLOAD_BYTES)
+        .baseUnit("bytes")
+        .tag("repository", repository)
+        .register(registry)
+        .increment(bytes);
+  }
+
+  @Override
+  public void downloadFailed(String repository, long duration) {
+    registry.timer(DOWNLOAD, "repository", repository, "outcome", "failure")
+        .record(duration, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void repositoryAvailabilityChanged(String repository, boolean available) {
+    // The registry only keeps a weak reference on the gauge state
+    availability.computeIfAbsent(repository, url -> registry.gauge(REPOSITORY_AVAILABLE,
+        Tags.of("repository", url), new AtomicInteger(1))).set(available ? 1 : 0);
+  }
+
+  @Override
+  public void phaseCompleted(Phase phase, long duration) {
+    registry.timer(PHASE, "phase", phase.name().toLowerCase(Locale.ROOT))
+        .record(duration, TimeUnit.NANOSECONDS);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+
+/**
+ * Aborts the transfers of a resolution once its deadline has passed, including the transfers in progress which are
+ * cancelled when their next chunk is received.
+ */
+class DeadlineTransferListener extends AbstractTransferListener {
+
+  // The session data holding the deadline of the resolution
+  private static final Object DEADLINE = new Object();
+
+  private final long deadline;
+
+  /**
+   * @param deadline the deadline, as a {@link System#nanoTime()} value
+   */
+  DeadlineTransferListener(long deadline) {
+    this.deadline = deadline;
+  }
+
+  @Override
+  public void transferInitiated(TransferEvent event) throws TransferCancelledException {
+    check();
+  }
+
+  @Override
+  public void transferStarted(TransferEvent event) throws TransferCancelledException {
+    check();
+  }
+
+  @Override
+  public void transferProgressed(TransferEvent event) throws TransferCancelledException {
+    check();
+  }
+
+  /**
+   * Sets the deadline of the resolution using the given session.
+   *
+   * @param session  the session of the resolution
+   * @param deadline the deadline, as a {@link System#nanoTime()} value
+   */
+  static void setDeadline(RepositorySystemSession session, long deadline) {
+    session.getData().set(DEADLINE, deadline);
+  }
+
+  /**
+   * @return whether or not the deadline of the resolution using the given session has passed, the transfers failing
+   * afterwards have been cut by the resolution
+   */
+  static boolean isExpired(RepositorySystemSession session) {
+    Object deadline = session.getData().get(DEADLINE);
+    return deadline != null && System.nanoTime() - (Long) deadline >= 0;
+  }
+
+  private void check() throws TransferCancelledException {
+    if (System.nanoTime() - deadline >= 0) {
+      throw new TransferCancelledException("The resolution deadline has passed");
+    }
+  }
+}
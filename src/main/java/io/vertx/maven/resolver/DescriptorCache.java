@@ -0,0 +1,206 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+
+package io.vertx.maven.resolver;
+
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+import org.eclipse.aether.artifact.Artifact;
+
+import java.lang.reflect.Field;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The repository cache shared by the sessions of the resolutions. Only the models of the release parents and imported
+ * BOMs, cached by the Maven model builder, and the descriptors of the release artifacts, cached by the dependency
+ * collector, are shared across resolutions, in a bounded map evicting the least recently used entries. They cannot
+ * change once released, while a SNAPSHOT (or a version range) must be read again by each resolution to pick up the
+ * updates. The other entries are only kept for the duration of a resolution, in the data of its session.
+ */
+class DescriptorCache implements RepositoryCache {
+
+  private static final String MODEL_CACHE_KEY = "org.apache.maven.repository.internal.DefaultModelCache$Key";
+
+  private static final String DESCRIPTORS_KEY = "org.eclipse.aether.internal.impl.DataPool$Descriptors";
+
+  private static final Object SESSION_ENTRIES = new Object();
+
+  private static final Object SESSION_DESCRIPTORS = new Object();
+
+  private static volatile Field versionField;
+
+  private final Map<Object, Object> entries;
+
+  /**
+   * @param maxSize the maximum number of shared entries
+   */
+  DescriptorCache(int maxSize) {
+    this.entries = new LinkedHashMap<Object, Object>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  @Override
+  public Object get(RepositorySystemSession session, Object key) {
+    if (DESCRIPTORS_KEY.equals(key)) {
+      return sessionDescriptors(session);
+    }
+    Map<Object, Object> source = isShared(key) ? entries : sessionEntries(session);
+    synchronized (source) {
+      return source.get(key);
+    }
+  }
+
+  @Override
+  public void put(RepositorySystemSession session, Object key, Object data) {
+    if (DESCRIPTORS_KEY.equals(key)) {
+      // The collector only stores its map when get returned none, the view of the session is always returned
+      return;
+    }
+    Map<Object, Object> target = isShared(key) ? entries : sessionEntries(session);
+    synchronized (target) {
+      if (data != null) {
+        target.put(key, data);
+      } else {
+        target.remove(key);
+      }
+    }
+  }
+
+  int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private static Map<Object, Object> sessionEntries(RepositorySystemSession session) {
+    return sessionData(session, SESSION_ENTRIES, new HashMap<>());
+  }
+
+  private Map<Object, Object> sessionDescriptors(RepositorySystemSession session) {
+    return sessionData(session, SESSION_DESCRIPTORS, new Descriptors());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<Object, Object> sessionData(RepositorySystemSession session, Object key,
+                                                 Map<Object, Object> initial) {
+    SessionData data = session.getData();
+    Map<Object, Object> scoped = (Map<Object, Object>) data.get(key);
+    if (scoped == null) {
+      scoped = initial;
+      if (!data.set(key, null, scoped)) {
+        scoped = (Map<Object, Object>) data.get(key);
+      }
+    }
+    return scoped;
+  }
+
+  /**
+   * @return whether the key of a descriptor is a release artifact.
+   */
+  private static boolean isSharedDescriptor(Object key) {
+    if (!(key instanceof Artifact)) {
+      return false;
+    }
+    Artifact artifact = (Artifact) key;
+    return !artifact.isSnapshot() && !ResolutionKey.isDynamic(artifact.getVersion());
+  }
+
+  /**
+   * @return whether the key is a model cache key of a release version. The version of the key is not exposed by the
+   * model builder, it is read reflectively, a key that cannot be read is not shared: the parents are then read again by
+   * each resolution. {@code ResolverTest#testParentsAreSharedAcrossResolutionsUnlessSnapshot} fails when the key of the
+   * Maven version in use cannot be read.
+   */
+  private static boolean isShared(Object key) {
+    if (!key.getClass().getName().equals(MODEL_CACHE_KEY)) {
+      return false;
+    }
+    try {
+      Field field = versionField;
+      if (field == null || field.getDeclaringClass() != key.getClass()) {
+        field = key.getClass().getDeclaredField("version");
+        field.setAccessible(true);
+        versionField = field;
+      }
+      Object version = field.get(key);
+      return version instanceof String && !ResolutionKey.isDynamic((String) version);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return false;
+    }
+  }
+
+  /**
+   * The descriptors of a collection: those of the release artifacts are shared across resolutions, the others are kept
+   * for the duration of the resolution.
+   */
+  private class Descriptors extends AbstractMap<Object, Object> {
+
+    private final Map<Object, Object> local = new HashMap<>();
+
+    @Override
+    public Object get(Object key) {
+      Map<Object, Object> source = isSharedDescriptor(key) ? entries : local;
+      synchronized (source) {
+        return source.get(key);
+      }
+    }
+
+    @Override
+    public Object put(Object key, Object value) {
+      Map<Object, Object> target = isSharedDescriptor(key) ? entries : local;
+      synchronized (target) {
+        return target.put(key, value);
+      }
+    }
+
+    @Override
+    public Object remove(Object key) {
+      Map<Object, Object> target = isSharedDescriptor(key) ? entries : local;
+      synchronized (target) {
+        return target.remove(key);
+      }
+    }
+
+    @Override
+    public Set<Entry<Object, Object>> entrySet() {
+      Set<Entry<Object, Object>> set = new HashSet<>();
+      synchronized (local) {
+        for (Entry<Object, Object> entry : local.entrySet()) {
+          set.add(new SimpleImmutableEntry<>(entry));
+        }
+      }
+      synchronized (entries) {
+        for (Entry<Object, Object> entry : entries.entrySet()) {
+          if (isSharedDescriptor(entry.getKey())) {
+            set.add(new SimpleImmutableEntry<>(entry));
+          }
+        }
+      }
+      return set;
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the failed resolutions, so resolving unresolvable coordinates again fails immediately instead of walking
+ * the repositories. A failure is remembered for the configured time to live, doubled after each consecutive failure
+ * of the same resolution, up to a maximum. A successful resolution resets the backoff.
+ */
+class FailureCache {
+
+  private static final int MAX_SIZE = 1024;
+
+  private final long ttl;
+  private final long maxTtl;
+  private final Map<ResolutionKey, Failure> failures = new LinkedHashMap<ResolutionKey, Failure>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<ResolutionKey, Failure> eldest) {
+      return size() > MAX_SIZE;
+    }
+  };
+
+  /**
+   * @param ttl    the time during which a failure is remembered in milliseconds, {@code 0} disables the cache
+   * @param maxTtl the maximum time to live reached by the backoff in milliseconds
+   */
+  FailureCache(long ttl, long maxTtl) {
+    this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+    this.maxTtl = TimeUnit.MILLISECONDS.toNanos(Math.max(ttl, maxTtl));
+  }
+
+  /**
+   * @param key the key
+   * @return the exception to report if the resolution of the given key failed recently, {@code null} otherwise
+   */
+  synchronized IllegalArgumentException get(ResolutionKey key) {
+    if (ttl <= 0) {
+      return null;
+    }
+    Failure failure = failures.get(key);
+    if (failure == null || failure.retryAt - System.nanoTime() <= 0) {
+      return null;
+    }
+    return new IllegalArgumentException(failure.message);
+  }
+
+  synchronized void failed(ResolutionKey key, IllegalArgumentException exception) {
+    if (ttl <= 0) {
+      return;
+    }
+    Failure previous = failures.get(key);
+    int count = previous == null ? 1 : previous.count + 1;
+    long delay = ttl;
+    for (int i = 1; i < count && delay < maxTtl; i++) {
+      delay *= 2;
+    }
+    failures.put(key, new Failure(exception.getMessage(), count, System.nanoTime() + Math.min(delay, maxTtl)));
+  }
+
+  synchronized void succeeded(ResolutionKey key) {
+    failures.remove(key);
+  }
+
+  synchronized void clear() {
+    failures.clear();
+  }
+
+  private static class Failure {
+    final String message;
+    final int count;
+    final long retryAt;
+
+    Failure(String message, int count, long retryAt) {
+      this.message = message;
+      this.count = count;
+      this.retryAt = retryAt;
+    }
+  }
+}
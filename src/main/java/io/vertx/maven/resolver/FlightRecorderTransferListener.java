@@ -0,0 +1,63 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import io.vertx.maven.jfr.DeploymentEvents;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emits a {@link DeploymentEvents} download event for each file downloaded from a remote repository.
+ */
+class FlightRecorderTransferListener extends AbstractTransferListener {
+
+  // The resource of a transfer is the same instance for all its events
+  private final Map<TransferResource, Object> downloads = new ConcurrentHashMap<>();
+
+  @Override
+  public void transferInitiated(TransferEvent event) {
+    if (event.getRequestType() == TransferEvent.RequestType.GET) {
+      Object download = DeploymentEvents.downloadStarted();
+      if (download != null) {
+        downloads.put(event.getResource(), download);
+      }
+    }
+  }
+
+  @Override
+  public void transferSucceeded(TransferEvent event) {
+    ended(event, true);
+  }
+
+  @Override
+  public void transferFailed(TransferEvent event) {
+    ended(event, false);
+  }
+
+  private void ended(TransferEvent event, boolean succeeded) {
+    Object download = downloads.remove(event.getResource());
+    if (download != null) {
+      TransferResource resource = event.getResource();
+      DeploymentEvents.downloadEnded(download, resource.getRepositoryUrl(), resource.getResourceName(),
+          event.getTransferredBytes(), succeeded);
+    }
+  }
+}
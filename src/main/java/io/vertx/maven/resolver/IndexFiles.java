@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The files of the indexes stored in the local repository (the resolution index and the metadata of the jars): each
+ * entry is a JSON file named after the SHA-1 of its key. This class is internal, it is not part of the API.
+ */
+public final class IndexFiles {
+
+  private IndexFiles() {
+  }
+
+  /**
+   * @param directory the directory of the index
+   * @param key       the key of the entry
+   * @return the file of the entry
+   */
+  public static File file(File directory, String key) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return new File(directory, hex + ".json");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Writes an entry, through a temporary file so concurrent readers never see a partial entry. The file is moved
+   * atomically when the file system supports it.
+   *
+   * @param file    the file of the entry
+   * @param content the content of the entry
+   */
+  public static void write(File file, String content) throws IOException {
+    Path directory = file.getParentFile().toPath();
+    Files.createDirectories(directory);
+    Path tmp = Files.createTempFile(directory, file.getName(), ".tmp");
+    Files.write(tmp, content.getBytes(StandardCharsets.UTF_8));
+    try {
+      Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+}
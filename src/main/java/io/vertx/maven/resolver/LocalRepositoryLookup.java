@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Finds release artifacts directly in the local repository layout, without creating a repository session. An
+ * artifact is found with the same rules as the Aether local repository manager: it must have been installed locally,
+ * downloaded from one of the configured remote repositories, or not be tracked at all. In offline mode the origin of
+ * the files is not checked.
+ */
+class LocalRepositoryLookup {
+
+  private static final String TRACKING_FILE = "_remote.repositories";
+
+  private final File root;
+  private final List<String> repositories;
+  private final boolean offline;
+
+  /**
+   * @param root         the local repository
+   * @param repositories the identifiers of the remote repositories
+   * @param offline      whether or not the origin of the files is ignored
+   */
+  LocalRepositoryLookup(File root, List<String> repositories, boolean offline) {
+    this.root = root;
+    this.repositories = new ArrayList<>(repositories);
+    this.offline = offline;
+  }
+
+  /**
+   * @param key the key
+   * @return the artifact of the given key with its file set, {@code null} if the key does not designate a release
+   * artifact available in the local repository
+   */
+  Artifact find(ResolutionKey key) {
+    if (key.isDynamic()) {
+      return null;
+    }
+    Artifact artifact;
+    try {
+      artifact = new DefaultArtifact(key.gacv());
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    if (artifact.isSnapshot()) {
+      return null;
+    }
+    File directory = new File(root, artifact.getGroupId().replace('.', File.separatorChar) + File.separator
+        + artifact.getArtifactId() + File.separator + artifact.getBaseVersion());
+    StringBuilder name = new StringBuilder(artifact.getArtifactId()).append('-').append(artifact.getVersion());
+    if (!artifact.getClassifier().isEmpty()) {
+      name.append('-').append(artifact.getClassifier());
+    }
+    name.append('.').append(artifact.getExtension());
+    File file = new File(directory, name.toString());
+    if (!file.isFile() || !isAvailable(directory, name.toString())) {
+      return null;
+    }
+    return artifact.setFile(file);
+  }
+
+  private boolean isAvailable(File directory, String name) {
+    if (offline) {
+      return true;
+    }
+    File tracking = new File(directory, TRACKING_FILE);
+    if (!tracking.isFile()) {
+      // Not tracked, the file is considered as locally installed
+      return true;
+    }
+    Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(tracking.toPath())) {
+      properties.load(in);
+    } catch (Exception e) {
+      return false;
+    }
+    String prefix = name + ">";
+    if (properties.containsKey(prefix)) {
+      return true;
+    }
+    for (String repository : repositories) {
+      if (properties.containsKey(prefix + repository)) {
+        return true;
+      }
+    }
+    // Not tracked at all, the file is considered as locally installed
+    return properties.stringPropertyNames().stream().noneMatch(key -> key.startsWith(prefix));
+  }
+}
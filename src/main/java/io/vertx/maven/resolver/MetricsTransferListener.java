@@ -0,0 +1,55 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import io.vertx.maven.ResolverMetrics;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the downloads from the remote repositories to the {@link ResolverMetrics}.
+ */
+class MetricsTransferListener extends AbstractTransferListener {
+
+  private final ResolverMetrics metrics;
+
+  MetricsTransferListener(ResolverMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void transferSucceeded(TransferEvent event) {
+    if (event.getRequestType() == TransferEvent.RequestType.GET) {
+      metrics.downloadSucceeded(event.getResource().getRepositoryUrl(), event.getTransferredBytes(),
+          duration(event.getResource()));
+    }
+  }
+
+  @Override
+  public void transferFailed(TransferEvent event) {
+    if (event.getRequestType() == TransferEvent.RequestType.GET) {
+      metrics.downloadFailed(event.getResource().getRepositoryUrl(), duration(event.getResource()));
+    }
+  }
+
+  private static long duration(TransferResource resource) {
+    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - resource.getTransferStartTime()));
+  }
+}
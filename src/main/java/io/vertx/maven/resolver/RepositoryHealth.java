@@ -0,0 +1,234 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.maven.ResolverMetrics;
+import org.apache.http.client.HttpResponseException;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.ChecksumFailureException;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Tracks the health of the remote repositories with a circuit breaker per repository. It listens to the transfers:
+ * after {@code threshold} consecutive failures a repository is skipped by the resolutions. Once the cool-off period
+ * has elapsed, the next resolution schedules a probe of the repository, which is used again as soon as it answers.
+ * <p/>
+ * A repository answering that it does not have an artifact is healthy, only connection failures, timeouts and
+ * server errors are failures. The transfers failing once the deadline of their resolution has passed are ignored.
+ */
+class RepositoryHealth extends AbstractTransferListener {
+
+  private final static Logger LOGGER = LoggerFactory.getLogger("vertx-stack-resolver");
+
+  private enum State {
+    CLOSED, OPEN, PROBING
+  }
+
+  private final int threshold;
+  private final long coolOff;
+  private final ResolverMetrics metrics;
+  private final Predicate<RemoteRepository> probe;
+  private final Consumer<Runnable> executor;
+  // Keyed by url, the transfer events only give the url of the repository
+  private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+  /**
+   * @param remotes   the tracked repositories
+   * @param threshold the number of consecutive failures opening the circuit
+   * @param coolOff   the time in milliseconds during which an open circuit skips the repository
+   * @param metrics   the metrics notified of the availability of the repositories
+   * @param probe     checks whether a repository answers, it blocks
+   * @param executor  runs the probes in the background
+   */
+  RepositoryHealth(List<RemoteRepository> remotes, int threshold, long coolOff, ResolverMetrics metrics,
+                   Predicate<RemoteRepository> probe, Consumer<Runnable> executor) {
+    this.threshold = threshold;
+    this.coolOff = TimeUnit.MILLISECONDS.toNanos(coolOff);
+    this.metrics = metrics;
+    this.probe = probe;
+    this.executor = executor;
+    for (RemoteRepository remote : remotes) {
+      circuits.put(remote.getUrl(), new Circuit(remote));
+    }
+  }
+
+  /**
+   * Filters out the repositories whose circuit is open, and schedules the probe of the ones whose cool-off period has
+   * elapsed.
+   *
+   * @param remotes the repositories
+   * @return the repositories to use, in the same order
+   */
+  List<RemoteRepository> available(List<RemoteRepository> remotes) {
+    List<RemoteRepository> available = null;
+    for (int i = 0; i < remotes.size(); i++) {
+      RemoteRepository remote = remotes.get(i);
+      Circuit circuit = circuits.get(remote.getUrl());
+      if (circuit != null && !circuit.allows()) {
+        if (available == null) {
+          available = new ArrayList<>(remotes.subList(0, i));
+        }
+      } else if (available != null) {
+        available.add(remote);
+      }
+    }
+    return available == null ? remotes : Collections.unmodifiableList(available);
+  }
+
+  /**
+   * @return the urls of the repositories currently skipped.
+   */
+  List<String> unavailable() {
+    List<String> unavailable = new ArrayList<>();
+    circuits.forEach((url, circuit) -> {
+      if (!circuit.isClosed()) {
+        unavailable.add(url);
+      }
+    });
+    return unavailable;
+  }
+
+  @Override
+  public void transferSucceeded(TransferEvent event) {
+    Circuit circuit = circuits.get(event.getResource().getRepositoryUrl());
+    if (circuit != null) {
+      circuit.succeeded();
+    }
+  }
+
+  @Override
+  public void transferFailed(TransferEvent event) {
+    Circuit circuit = circuits.get(event.getResource().getRepositoryUrl());
+    // The timeouts of a resolution are capped to its deadline, a transfer failing afterwards says nothing about the
+    // repository
+    if (circuit != null && !DeadlineTransferListener.isExpired(event.getSession())) {
+      if (isRepositoryFailure(event.getException())) {
+        circuit.failed();
+      } else {
+        circuit.succeeded();
+      }
+    }
+  }
+
+  /**
+   * @return whether or not the given transfer failure means the repository is not healthy
+   */
+  static boolean isRepositoryFailure(Throwable failure) {
+    if (failure == null) {
+      return false;
+    }
+    for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof HttpResponseException) {
+        // The repository answered, a missing or forbidden artifact is not a failure of the repository
+        return ((HttpResponseException) cause).getStatusCode() >= 500;
+      }
+      if (cause instanceof FileNotFoundException
+          || cause instanceof ChecksumFailureException
+          || cause instanceof TransferCancelledException) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private class Circuit {
+
+    private final RemoteRepository repository;
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    Circuit(RemoteRepository repository) {
+      this.repository = repository;
+    }
+
+    synchronized boolean isClosed() {
+      return state == State.CLOSED;
+    }
+
+    boolean allows() {
+      synchronized (this) {
+        if (state == State.CLOSED) {
+          return true;
+        }
+        if (state == State.PROBING || System.nanoTime() - openedAt < coolOff) {
+          return false;
+        }
+        state = State.PROBING;
+      }
+      executor.accept(this::probe);
+      return false;
+    }
+
+    private void probe() {
+      boolean answered;
+      try {
+        answered = probe.test(repository);
+      } catch (Exception e) {
+        answered = false;
+      }
+      if (answered) {
+        succeeded();
+      } else {
+        synchronized (this) {
+          state = State.OPEN;
+          openedAt = System.nanoTime();
+        }
+        LOGGER.debug("The remote repository " + repository.getUrl() + " is still unavailable");
+      }
+    }
+
+    void succeeded() {
+      synchronized (this) {
+        failures = 0;
+        if (state == State.CLOSED) {
+          return;
+        }
+        state = State.CLOSED;
+      }
+      LOGGER.info("The remote repository " + repository.getUrl() + " is available again");
+      metrics.repositoryAvailabilityChanged(repository.getUrl(), true);
+    }
+
+    void failed() {
+      synchronized (this) {
+        if (state != State.CLOSED || ++failures < threshold) {
+          return;
+        }
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+      }
+      LOGGER.warn("The remote repository " + repository.getUrl() + " failed " + threshold +
+          " times in a row, it is skipped for " + TimeUnit.NANOSECONDS.toMillis(coolOff) + " ms");
+      metrics.repositoryAvailabilityChanged(repository.getUrl(), false);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the latency and the throughput of the remote repositories from the transfers, to query the fastest
+ * repositories first. Aether tries the repositories in order until one holds the artifact, so the artifacts available
+ * in several repositories are downloaded from the fastest of them.
+ * <p/>
+ * The score of a repository is the expected time to download a {@link #REFERENCE_SIZE} file: its latency plus the
+ * time to transfer the file at its throughput, both being exponentially weighted moving averages. Repositories not
+ * measured yet have a score of {@code 0}, so they are tried once before being ranked.
+ */
+class RepositoryLatency extends AbstractTransferListener {
+
+  /**
+   * The size of the file used to compare the repositories, in bytes.
+   */
+  static final long REFERENCE_SIZE = 100 * 1024;
+
+  /**
+   * The weight of a new sample in the moving averages.
+   */
+  private static final double ALPHA = 0.2;
+
+  /**
+   * The minimum size of a file measuring the throughput, the transfer of smaller files is dominated by the latency.
+   */
+  private static final long MIN_THROUGHPUT_SAMPLE = 16 * 1024;
+
+  // Keyed by url, the transfer events only give the url of the repository
+  private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+  RepositoryLatency(List<RemoteRepository> remotes) {
+    for (RemoteRepository remote : remotes) {
+      stats.put(remote.getUrl(), new Stats());
+    }
+  }
+
+  /**
+   * Sorts the given repositories by score, the fastest first. Repositories with the same score keep their order.
+   *
+   * @param remotes the repositories
+   * @return the sorted repositories
+   */
+  List<RemoteRepository> order(List<RemoteRepository> remotes) {
+    if (remotes.size() < 2) {
+      return remotes;
+    }
+    List<RemoteRepository> ordered = new ArrayList<>(remotes);
+    ordered.sort(Comparator.comparingDouble(remote -> score(remote.getUrl())));
+    return ordered;
+  }
+
+  private double score(String url) {
+    Stats repository = stats.get(url);
+    return repository != null ? repository.score() : 0;
+  }
+
+  @Override
+  public void transferStarted(TransferEvent event) {
+    // The repository answered, it is the time to the first byte
+    Stats repository = stats.get(event.getResource().getRepositoryUrl());
+    if (repository != null) {
+      repository.latency(elapsed(event));
+    }
+  }
+
+  @Override
+  public void transferSucceeded(TransferEvent event) {
+    Stats repository = stats.get(event.getResource().getRepositoryUrl());
+    if (repository != null && event.getTransferredBytes() >= MIN_THROUGHPUT_SAMPLE) {
+      repository.throughput((double) event.getTransferredBytes() / Math.max(1, elapsed(event)));
+    }
+  }
+
+  @Override
+  public void transferFailed(TransferEvent event) {
+    // A missing file costs a round trip, a failure costs up to a timeout: both make the repository slower to use
+    Stats repository = stats.get(event.getResource().getRepositoryUrl());
+    if (repository != null) {
+      repository.latency(elapsed(event));
+    }
+  }
+
+  private static long elapsed(TransferEvent event) {
+    return Math.max(0, System.currentTimeMillis() - event.getResource().getTransferStartTime());
+  }
+
+  private static class Stats {
+
+    // In milliseconds and bytes per millisecond, negative until measured
+    private double latency = -1;
+    private double throughput = -1;
+
+    synchronized void latency(long sample) {
+      latency = latency < 0 ? sample : ALPHA * sample + (1 - ALPHA) * latency;
+    }
+
+    synchronized void throughput(double sample) {
+      throughput = throughput < 0 ? sample : ALPHA * sample + (1 - ALPHA) * throughput;
+    }
+
+    synchronized double score() {
+      double score = Math.max(0, latency);
+      if (throughput > 0) {
+        score += REFERENCE_SIZE / throughput;
+      }
+      return score;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import org.eclipse.aether.artifact.Artifact;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded, in-memory cache of resolution results. The least recently used entries are evicted once the maximum size
+ * is reached. Results containing SNAPSHOT artifacts (or requested with a dynamic version) expire after the configured
+ * time to live, release results stay until they are evicted.
+ */
+class ResolutionCache {
+
+  private final int maxSize;
+  private final long snapshotTtl;
+  private final Map<ResolutionKey, Entry> entries;
+
+  /**
+   * @param maxSize     the maximum number of cached resolutions, {@code 0} disables the cache
+   * @param snapshotTtl the time to live of the dynamic resolutions in milliseconds, {@code 0} to not cache them
+   */
+  ResolutionCache(int maxSize, long snapshotTtl) {
+    this.maxSize = maxSize;
+    this.snapshotTtl = TimeUnit.MILLISECONDS.toNanos(snapshotTtl);
+    this.entries = new LinkedHashMap<ResolutionKey, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<ResolutionKey, Entry> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Gets the cached result for the given key.
+   *
+   * @param key the key
+   * @return the cached artifacts, {@code null} if the key is not cached, has expired, or if one of the resolved files
+   * has been removed from the local repository.
+   */
+  List<Artifact> get(ResolutionKey key) {
+    if (maxSize <= 0) {
+      return null;
+    }
+    Entry entry;
+    synchronized (this) {
+      entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (entry.dynamic && entry.expiration - System.nanoTime() < 0) {
+        entries.remove(key);
+        return null;
+      }
+    }
+    for (Artifact artifact : entry.artifacts) {
+      File file = artifact.getFile();
+      if (file == null || !file.isFile()) {
+        invalidate(key);
+        return null;
+      }
+    }
+    return entry.artifacts;
+  }
+
+  /**
+   * Stores the result of a resolution.
+   *
+   * @param key       the key
+   * @param artifacts the resolved artifacts
+   */
+  void put(ResolutionKey key, List<Artifact> artifacts) {
+    if (maxSize <= 0) {
+      return;
+    }
+    boolean dynamic = key.isDynamic() || artifacts.stream().anyMatch(Artifact::isSnapshot);
+    if (dynamic && snapshotTtl <= 0) {
+      return;
+    }
+    Entry entry = new Entry(Collections.unmodifiableList(new ArrayList<>(artifacts)), dynamic,
+        System.nanoTime() + snapshotTtl);
+    synchronized (this) {
+      entries.put(key, entry);
+    }
+  }
+
+  synchronized void invalidate(ResolutionKey key) {
+    entries.remove(key);
+  }
+
+  synchronized void clear() {
+    entries.clear();
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private static class Entry {
+    final List<Artifact> artifacts;
+    final boolean dynamic;
+    final long expiration;
+
+    Entry(List<Artifact> artifacts, boolean dynamic, long expiration) {
+      this.artifacts = artifacts;
+      this.dynamic = dynamic;
+      this.expiration = expiration;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * A persistent index of the release resolutions, stored in the local repository. Each entry records the resolved
+ * artifacts of a coordinate with the size of their files. An entry is trusted as long as all the files are still
+ * present with the same size, so a resolution done by a previous process does not need to collect the dependency
+ * graph again.
+ * <p/>
+ * Entries are keyed by the coordinates, the resolution options and the remote repositories, so changing the
+ * repositories does not reuse the resolutions done with other repositories.
+ */
+class ResolutionIndex {
+
+  private final static Logger LOGGER = LoggerFactory.getLogger(ResolutionIndex.class);
+
+  static final String INDEX_DIRECTORY = ".vertx" + File.separator + "resolutions";
+
+  private final File directory;
+  private final List<String> remoteRepositories;
+
+  ResolutionIndex(File localRepository, List<String> remoteRepositories) {
+    this.directory = new File(localRepository, INDEX_DIRECTORY);
+    this.remoteRepositories = new ArrayList<>(remoteRepositories);
+  }
+
+  /**
+   * Reads the indexed resolution of the given key.
+   *
+   * @param key the key
+   * @return the indexed artifacts, {@code null} if the key is not indexed or if one of the files has changed
+   */
+  List<Artifact> read(ResolutionKey key) {
+    if (key.isDynamic()) {
+      return null;
+    }
+    File file = file(key);
+    if (!file.isFile()) {
+      return null;
+    }
+    try {
+      JsonObject json = new JsonObject(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+      if (!key.gacv().equals(json.getString("coordinates"))) {
+        return null;
+      }
+      JsonArray entries = json.getJsonArray("artifacts");
+      List<Artifact> artifacts = new ArrayList<>(entries.size());
+      for (int i = 0; i < entries.size(); i++) {
+        JsonObject entry = entries.getJsonObject(i);
+        File artifactFile = new File(entry.getString("file"));
+        if (!artifactFile.isFile() || artifactFile.length() != entry.getLong("size")) {
+          LOGGER.debug("Ignoring the indexed resolution of " + key + ", " + artifactFile + " has changed");
+          return null;
+        }
+        artifacts.add(new DefaultArtifact(entry.getString("coordinates")).setFile(artifactFile));
+      }
+      return artifacts;
+    } catch (Exception e) {
+      LOGGER.debug("Ignoring the invalid resolution index entry " + file.getAbsolutePath(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Records the resolution of the given key. Resolutions involving SNAPSHOT artifacts are not recorded.
+   *
+   * @param key       the key
+   * @param artifacts the resolved artifacts
+   */
+  void write(ResolutionKey key, List<Artifact> artifacts) {
+    if (key.isDynamic() || artifacts.stream().anyMatch(Artifact::isSnapshot)) {
+      return;
+    }
+    JsonArray entries = new JsonArray();
+    for (Artifact artifact : artifacts) {
+      File file = artifact.getFile();
+      if (file == null) {
+        return;
+      }
+      entries.add(new JsonObject()
+          .put("coordinates", artifact.toString())
+          .put("file", file.getAbsolutePath())
+          .put("size", file.length()));
+    }
+    JsonObject json = new JsonObject()
+        .put("coordinates", key.gacv())
+        .put("transitive", key.options().isWithTransitive())
+        .put("exclusions", new JsonArray(new ArrayList<>(key.options().getExclusions())))
+        .put("artifacts", entries);
+    File file = file(key);
+    try {
+      IndexFiles.write(file, json.encodePrettily());
+    } catch (IOException e) {
+      LOGGER.warn("Cannot write the resolution index entry of " + key + ": " + e.getMessage());
+    }
+  }
+
+  private File file(ResolutionKey key) {
+    StringBuilder builder = new StringBuilder(key.gacv())
+        .append('\n').append(key.options().isWithTransitive())
+        .append('\n').append(new TreeSet<>(key.options().getExclusions()));
+    for (String remote : remoteRepositories) {
+      builder.append('\n').append(remote);
+    }
+    return IndexFiles.file(directory, builder.toString());
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+/**
+ * Identifies a resolution: the requested coordinates and the options used to resolve them. The options are copied so
+ * the key is not affected by later modifications of the {@link ResolutionOptions} instance given by the caller.
+ */
+final class ResolutionKey {
+
+  private final String gacv;
+  private final ResolutionOptions options;
+
+  ResolutionKey(String gacv, ResolutionOptions options) {
+    this.gacv = gacv;
+    this.options = new ResolutionOptions(options);
+  }
+
+  String gacv() {
+    return gacv;
+  }
+
+  ResolutionOptions options() {
+    return options;
+  }
+
+  /**
+   * @return whether or not the requested version may point to different artifacts over time (SNAPSHOT, LATEST,
+   * RELEASE or version range).
+   */
+  boolean isDynamic() {
+    return isDynamic(gacv.substring(gacv.lastIndexOf(':') + 1));
+  }
+
+  /**
+   * @return whether or not the given version may point to different artifacts over time.
+   */
+  static boolean isDynamic(String version) {
+    return version.endsWith("SNAPSHOT")
+        || version.equals("LATEST")
+        || version.equals("RELEASE")
+        || version.startsWith("[")
+        || version.startsWith("(");
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    ResolutionKey that = (ResolutionKey) o;
+    return gacv.equals(that.gacv) && options.equals(that.options);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * gacv.hashCode() + options.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return gacv;
+  }
+}
@@ -30,6 +30,24 @@ public class ResolutionOptions {
 
   private boolean withTransitive = true;
   private List<String> exclusions = new ArrayList<>();
+  private long timeout;
+
+  /**
+   * Creates a new instance of {@link ResolutionOptions} with the default values.
+   */
+  public ResolutionOptions() {
+  }
+
+  /**
+   * Creates a new instance of {@link ResolutionOptions} copying the values of the given instance.
+   *
+   * @param other the options to copy
+   */
+  public ResolutionOptions(ResolutionOptions other) {
+    this.withTransitive = other.withTransitive;
+    this.exclusions = new ArrayList<>(other.exclusions);
+    this.timeout = other.timeout;
+  }
 
   /**
    * @return whether or not the resolution should also resolve the transitive dependencies.
@@ -81,6 +99,30 @@ public class ResolutionOptions {
     return exclusions;
   }
 
+  /**
+   * @return the maximum duration of the resolution in milliseconds, {@code 0} to use the timeout of the resolver.
+   */
+  public long getTimeout() {
+    return timeout;
+  }
+
+  /**
+   * Sets the maximum duration of the resolution in milliseconds, overriding
+   * {@link io.vertx.maven.ResolverOptions#getResolutionTimeout()}. Once it has elapsed, the transfers in progress are
+   * aborted and the resolution fails.
+   *
+   * @param timeout the timeout in milliseconds, {@code 0} to use the timeout of the resolver
+   * @return the current {@link ResolutionOptions} instance
+   */
+  public ResolutionOptions setTimeout(long timeout) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("The timeout must be positive");
+    }
+    this.timeout = timeout;
+    return this;
+  }
+
+  // The timeout does not change the resolved artifacts, it is not part of the equality
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -100,7 +142,8 @@ public class ResolutionOptions {
   @Override
   public int hashCode() {
     int result = (isWithTransitive() ? 1 : 0);
-    result = 31 * result + getExclusions().hashCode();
+    // Exclusions are compared as a set, so the hash code must not depend on their order
+    result = 31 * result + new HashSet<>(getExclusions()).hashCode();
     return result;
   }
 }
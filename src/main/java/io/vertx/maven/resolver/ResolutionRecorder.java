@@ -0,0 +1,92 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import io.vertx.maven.ResolverMetrics;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records what a single resolution does, to build its {@link ResolutionReport}. It listens to the transfers of the
+ * session of the resolution, the downloads being run by the connector threads.
+ */
+class ResolutionRecorder extends AbstractTransferListener {
+
+  // Keyed by the absolute path of the local file
+  private final Map<String, Long> downloads = new ConcurrentHashMap<>();
+  private final Map<String, String> repositories = new ConcurrentHashMap<>();
+  private final AtomicLong bytes = new AtomicLong();
+  private final Map<ResolverMetrics.Phase, Long> durations = new EnumMap<>(ResolverMetrics.Phase.class);
+  private volatile boolean remote;
+
+  /**
+   * The resolution creates a session to contact the repositories.
+   */
+  void sessionCreated() {
+    remote = true;
+  }
+
+  void phaseCompleted(ResolverMetrics.Phase phase, long duration) {
+    durations.merge(phase, duration, Long::sum);
+  }
+
+  /**
+   * Records the repositories the resolved artifacts come from.
+   */
+  void resolved(List<ArtifactResult> results) {
+    for (ArtifactResult result : results) {
+      Artifact artifact = result.getArtifact();
+      if (artifact != null && artifact.getFile() != null && result.getRepository() instanceof RemoteRepository) {
+        repositories.put(artifact.getFile().getAbsolutePath(), ((RemoteRepository) result.getRepository()).getUrl());
+      }
+    }
+  }
+
+  @Override
+  public void transferSucceeded(TransferEvent event) {
+    if (event.getRequestType() == TransferEvent.RequestType.GET) {
+      bytes.addAndGet(event.getTransferredBytes());
+      File file = event.getResource().getFile();
+      if (file != null) {
+        downloads.merge(file.getAbsolutePath(), event.getTransferredBytes(), Long::sum);
+        repositories.put(file.getAbsolutePath(), event.getResource().getRepositoryUrl());
+      }
+    }
+  }
+
+  ResolutionReport report(String dependency, List<Artifact> artifacts, long duration) {
+    List<ResolutionReport.ArtifactReport> reports = new ArrayList<>(artifacts.size());
+    for (Artifact artifact : artifacts) {
+      String path = artifact.getFile() != null ? artifact.getFile().getAbsolutePath() : null;
+      Long downloaded = path != null ? downloads.get(path) : null;
+      reports.add(new ResolutionReport.ArtifactReport(artifact, path != null ? repositories.get(path) : null,
+          downloaded != null, downloaded != null ? downloaded : 0));
+    }
+    return new ResolutionReport(dependency, reports, !remote, bytes.get(), durations, duration);
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ *  Copyright (c) 2011-2015 The original author or authors
+ *  ------------------------------------------------------
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *       The Eclipse Public License is available at
+ *       http://www.eclipse.org/legal/epl-v10.html
+ *
+ *       The Apache License v2.0 is available at
+ *       http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.maven.resolver;
+
+import io.vertx.maven.ResolverMetrics;
+import org.eclipse.aether.artifact.Artifact;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Describes how a dependency has been resolved: the resolved artifacts with the repository they come from, which of
+ * them have been downloaded, and the time spent in each phase of the resolution.
+ * <p/>
+ * It is returned by {@link io.vertx.maven.Resolver#resolveWithReport(io.vertx.core.Vertx, String, ResolutionOptions)}.
+ */
+public class ResolutionReport {
+
+  private final String dependency;
+  private final List<ArtifactReport> artifacts;
+  private final boolean cached;
+  private final long bytes;
+  private final Map<ResolverMetrics.Phase, Long> durations;
+  private final long duration;
+
+  /**
+   * Creates a new instance of {@link ResolutionReport}.
+   *
+   * @param dependency the resolved dependency, using the GACV form
+   * @param artifacts  the resolved artifacts, the first one being the artifact of the dependency
+   * @param cached     whether or not the resolution has been served without contacting the repositories
+   * @param bytes      the number of bytes downloaded
+   * @param durations  the duration in nanoseconds of the phases of the resolution
+   * @param duration   the duration of the resolution in nanoseconds
+   */
+  public ResolutionReport(String dependency, List<ArtifactReport> artifacts, boolean cached, long bytes,
+                          Map<ResolverMetrics.Phase, Long> durations, long duration) {
+    this.dependency = dependency;
+    this.artifacts = Collections.unmodifiableList(artifacts);
+    this.cached = cached;
+    this.bytes = bytes;
+    this.durations = durations.isEmpty() ? Collections.emptyMap() :
+        Collections.unmodifiableMap(new EnumMap<>(durations));
+    this.duration = duration;
+  }
+
+  /**
+   * @return the resolved dependency, using the GACV form.
+   */
+  public String getDependency() {
+    return dependency;
+  }
+
+  /**
+   * @return the resolved artifacts, the first one being the artifact of the dependency.
+   */
+  public List<ArtifactReport> getArtifacts() {
+    return artifacts;
+  }
+
+  /**
+   * @return whether or not the resolution has been served without contacting the repositories: from the resolution
+   * cache, the local repository, the resolution index, or a concurrent resolution.
+   */
+  public boolean isCached() {
+    return cached;
+  }
+
+  /**
+   * @return the number of bytes downloaded by the resolution, including the descriptors (POMs) of the artifacts.
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * Gets the time spent in a phase of the resolution, {@link ResolverMetrics.Phase#COLLECT} or
+   * {@link ResolverMetrics.Phase#DOWNLOAD}.
+   *
+   * @param phase the phase
+   * @return the duration in nanoseconds, {@code 0} if the phase did not run
+   */
+  public long getDuration(ResolverMetrics.Phase phase) {
+    return durations.getOrDefault(phase, 0L);
+  }
+
+  /**
+   * @return the duration of the resolution in nanoseconds.
+   */
+  public long getDuration() {
+    return duration;
+  }
+
+  /**
+   * A resolved artifact.
+   */
+  public static class ArtifactReport {
+
+    private final Artifact artifact;
+    private final String repository;
+    private final boolean downloaded;
+    private final long bytes;
+
+    /**
+     * Creates a new instance of {@link ArtifactReport}.
+     *
+     * @param artifact   the artifact
+     * @param repository the url of the remote repository the artifact comes from, {@code null} if unknown
+     * @param downloaded whether or not the file has been downloaded by the resolution
+     * @param bytes      the number of bytes downloaded
+     */
+    public ArtifactReport(Artifact artifact, String repository, boolean downloaded, long bytes) {
+      this.artifact = artifact;
+      this.repository = repository;
+      this.downloaded = downloaded;
+      this.bytes = bytes;
+    }
+
+    /**
+     * @return the artifact, with its file.
+     */
+    public Artifact getArtifact() {
+      return artifact;
+    }
+
+    /**
+     * @return the url of the remote repository the artifact comes from, {@code null} if it is unknown (e.g. an
+     * artifact installed in the local repository, or served by the resolution cache).
+     */
+    public String getRepository() {
+      return repository;
+    }
+
+    /**
+     * @return whether or not the file has been downloaded by the resolution.
+     */
+    public boolean isDownloaded() {
+      return downloaded;
+    }
+
+    /**
+     * @return the number of bytes downloaded, {@code 0} if the file was already available locally.
+     */
+    public long getBytes() {
+      return bytes;
+    }
+
+    @Override
+    public String toString() {
+      return artifact + (isDownloaded() ? " downloaded from " + repository : " (local)");
+    }
+  }
+}
@@ -17,16 +17,26 @@
 package io.vertx.maven.resolver;
 
 
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
 import io.vertx.maven.Resolver;
+import io.vertx.maven.ResolverMetrics;
 import io.vertx.maven.ResolverOptions;
+import io.vertx.maven.jfr.DeploymentEvents;
 import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.ConfigurationProperties;
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.DefaultSessionData;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.connector.basic.BasicRepositoryConnectorFactory;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyFilter;
@@ -36,19 +46,45 @@ import org.eclipse.aether.impl.DefaultServiceLocator;
 import org.eclipse.aether.repository.*;
 import org.eclipse.aether.resolution.*;
 import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
+import org.eclipse.aether.spi.connector.transport.PeekTask;
+import org.eclipse.aether.spi.connector.transport.Transporter;
 import org.eclipse.aether.spi.connector.transport.TransporterFactory;
+import org.eclipse.aether.spi.connector.transport.TransporterProvider;
+import org.eclipse.aether.transfer.NoTransporterException;
+import org.eclipse.aether.transfer.TransferListener;
 import org.eclipse.aether.transport.file.FileTransporterFactory;
 import org.eclipse.aether.transport.http.HttpTransporterFactory;
 import org.eclipse.aether.util.artifact.JavaScopes;
 import org.eclipse.aether.util.filter.DependencyFilterUtils;
+import org.eclipse.aether.util.graph.visitor.FilteringDependencyVisitor;
+import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
+import org.eclipse.aether.util.graph.visitor.TreeDependencyVisitor;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
 import org.eclipse.aether.util.repository.AuthenticationBuilder;
 
+import java.io.File;
+import java.net.URI;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -66,10 +102,62 @@ public class ResolverImpl implements Resolver {
   @Deprecated
   public static final String REMOTE_SNAPSHOT_POLICY_SYS_PROP = "vertx.maven.remoteSnapshotPolicy";
 
+  /**
+   * The configuration property of the basic repository connector setting the number of concurrent downloads.
+   */
+  private static final String CONNECTOR_THREADS = "aether.connector.basic.threads";
+
+  /**
+   * The configuration property disabling the caching of the resolved versions in the session cache.
+   */
+  private static final String VERSION_RESOLVER_NO_CACHE = "aether.versionResolver.noCache";
+
+  /**
+   * The content type of the local repository layout ignoring the origin of the files.
+   */
+  private static final String SIMPLE_LOCAL_REPOSITORY = "simple";
+
+  /**
+   * The maximum number of release parents and imported BOMs kept in the repository cache shared by the resolutions.
+   */
+  private static final int DESCRIPTOR_CACHE_SIZE = 1024;
+
   private final RepositorySystem system;
   private LocalRepository localRepo;
   private final List<RemoteRepository> remotes = new ArrayList<>();
   private final String remoteSnapshotPolicy;
+  private final int downloadThreads;
+  private final boolean offline;
+  private final ResolutionCache cache;
+  private final ResolutionIndex index;
+  private final LocalRepositoryLookup localLookup;
+  private final FailureCache failures;
+  private final ResolverMetrics metrics;
+  private final long resolutionTimeout;
+  // The connect and read timeouts of the remote repositories, by repository id
+  private final Map<String, Integer> connectTimeouts = new HashMap<>();
+  private final Map<String, Integer> readTimeouts = new HashMap<>();
+  private final TransporterProvider transporters;
+  private final RepositoryHealth health;
+  private final RepositoryLatency latency;
+  private volatile Vertx vertx;
+  private final ConcurrentMap<ResolutionKey, CompletableFuture<List<Artifact>>> inflight = new ConcurrentHashMap<>();
+  // The recorder and the deadline of the resolution in progress on the current thread, they are not parameters of the
+  // public resolve(Artifact, boolean, List) method
+  private final ThreadLocal<Call> calls = new ThreadLocal<>();
+  // Whether a subclass overrides resolve(Artifact, boolean, List), the batch resolution then goes through it
+  private final boolean customResolve = overridesResolve(getClass());
+
+  private final String workerPoolName;
+  private final int workerPoolSize;
+  private final long maxWorkerExecuteTime;
+  private final TimeUnit maxWorkerExecuteTimeUnit;
+  private volatile WorkerExecutor workerExecutor;
+  private volatile Vertx workerExecutorOwner;
+  private final AtomicInteger queuedResolutions = new AtomicInteger();
+  private final AtomicInteger activeResolutions = new AtomicInteger();
+
+  private volatile DefaultRepositorySystemSession sessionTemplate;
 
   /**
    * Creates a new instance of {@link ResolverImpl} with the given options.
@@ -82,15 +170,106 @@ public class ResolverImpl implements Resolver {
     String httpProxy = options.getHttpProxy();
     String httpsProxy = options.getHttpsProxy();
     remoteSnapshotPolicy = options.getRemoteSnapshotPolicy();
+    downloadThreads = options.getDownloadThreads();
+    offline = options.isOffline();
+    cache = new ResolutionCache(options.getResolutionCacheSize(), options.getSnapshotCacheTtl());
+    failures = new FailureCache(options.getFailureCacheTtl(), options.getMaxFailureCacheTtl());
+    metrics = options.getMetrics();
+    resolutionTimeout = options.getResolutionTimeout();
+    index = options.isResolutionIndex() ? new ResolutionIndex(new File(localMavenRepo), remoteMavenRepos) : null;
+    workerPoolName = options.getWorkerPoolName();
+    workerPoolSize = options.getWorkerPoolSize();
+    maxWorkerExecuteTime = options.getMaxWorkerExecuteTime();
+    maxWorkerExecuteTimeUnit = options.getMaxWorkerExecuteTimeUnit();
 
     DefaultServiceLocator locator = getDefaultServiceLocator();
 
     system = locator.getService(RepositorySystem.class);
-    localRepo = new LocalRepository(localMavenRepo);
+    transporters = locator.getService(TransporterProvider.class);
+    // Offline, the simple layout trusts the local files without checking the repository they were downloaded from
+    localRepo = offline ? new LocalRepository(new File(localMavenRepo), SIMPLE_LOCAL_REPOSITORY)
+        : new LocalRepository(localMavenRepo);
     Proxy proxy = getHttpProxy(httpProxy);
     Proxy secureProxy = getHttpsProxy(httpsProxy);
 
     configureRemoteRepositories(remoteMavenRepos, proxy, secureProxy);
+    for (int i = 0; i < remotes.size(); i++) {
+      String url = remoteMavenRepos.get(i);
+      String id = remotes.get(i).getId();
+      connectTimeouts.put(id, (int) (long) options.getRepositoryConnectTimeouts().getOrDefault(url,
+          options.getConnectTimeout()));
+      readTimeouts.put(id, (int) (long) options.getRepositoryReadTimeouts().getOrDefault(url,
+          options.getReadTimeout()));
+    }
+    localLookup = new LocalRepositoryLookup(new File(localMavenRepo),
+        remotes.stream().map(RemoteRepository::getId).collect(Collectors.toList()), offline);
+    health = options.getRepositoryFailureThreshold() > 0 && !offline ?
+        new RepositoryHealth(remotes, options.getRepositoryFailureThreshold(), options.getRepositoryCoolOff(), metrics,
+            this::probe, this::runInBackground) : null;
+    latency = options.isLatencyAwareOrdering() && !offline ? new RepositoryLatency(remotes) : null;
+    sessionTemplate = newSessionTemplate();
+  }
+
+  /**
+   * Creates the session shared by the resolutions. It holds the local repository manager and a repository cache,
+   * so the release parents and imported BOMs parsed by a resolution are reused by the next ones.
+   */
+  private DefaultRepositorySystemSession newSessionTemplate() {
+    DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+    session.setLocalRepositoryManager(system.newLocalRepositoryManager(session, localRepo));
+    session.setConfigProperty(CONNECTOR_THREADS, downloadThreads);
+    // Resolved versions must not be cached, otherwise SNAPSHOT updates would be ignored until the next restart
+    session.setConfigProperty(VERSION_RESOLVER_NO_CACHE, true);
+    // The repository specific properties take precedence over the global ones
+    connectTimeouts.forEach((id, timeout) ->
+        session.setConfigProperty(ConfigurationProperties.CONNECT_TIMEOUT + "." + id, timeout));
+    readTimeouts.forEach((id, timeout) ->
+        session.setConfigProperty(ConfigurationProperties.REQUEST_TIMEOUT + "." + id, timeout));
+    session.setCache(new DescriptorCache(DESCRIPTOR_CACHE_SIZE));
+    session.setOffline(offline);
+    TransferListener listener = new MetricsTransferListener(metrics);
+    if (DeploymentEvents.isAvailable()) {
+      listener = new ChainedTransferListener(listener, new FlightRecorderTransferListener());
+    }
+    if (health != null) {
+      listener = new ChainedTransferListener(listener, health);
+    }
+    if (latency != null) {
+      listener = new ChainedTransferListener(listener, latency);
+    }
+    session.setTransferListener(listener);
+    session.setReadOnly();
+    return session;
+  }
+
+  /**
+   * Creates the session of a resolution from the shared template.
+   *
+   * @param recorder the recorder of the resolution, {@code null} if it is not reported
+   * @param deadline the deadline of the resolution, as a {@link System#nanoTime()} value, {@code 0} if none
+   */
+  private DefaultRepositorySystemSession newSession(ResolutionRecorder recorder, long deadline) {
+    DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(sessionTemplate);
+    // The session data records the update checks already done, it must not be shared or the remote snapshot
+    // policy would only be applied once
+    session.setData(new DefaultSessionData());
+    TransferListener listener = session.getTransferListener();
+    if (recorder != null) {
+      recorder.sessionCreated();
+      listener = new ChainedTransferListener(listener, recorder);
+    }
+    if (deadline != 0) {
+      // A connection cannot outlive the resolution, and the transfers in progress are cancelled at the deadline.
+      // The timeouts are read by each new connector, so they are capped to the time remaining at that point
+      connectTimeouts.forEach((id, timeout) -> session.setConfigProperty(ConfigurationProperties.CONNECT_TIMEOUT +
+          "." + id, new RemainingTimeout(timeout, deadline)));
+      readTimeouts.forEach((id, timeout) -> session.setConfigProperty(ConfigurationProperties.REQUEST_TIMEOUT +
+          "." + id, new RemainingTimeout(timeout, deadline)));
+      listener = new ChainedTransferListener(listener, new DeadlineTransferListener(deadline));
+      DeadlineTransferListener.setDeadline(session, deadline);
+    }
+    session.setTransferListener(listener);
+    return session;
   }
 
   private Proxy getHttpsProxy(String httpsProxy) {
@@ -185,95 +364,55 @@ public class ResolverImpl implements Resolver {
    * @return the list of artifact
    */
   public List<Artifact> resolve(Artifact artifact, boolean transitive, List<String> exclusions) {
+    Call call = calls.get();
+    if (call != null) {
+      return resolve(artifact, transitive, exclusions, call.recorder, call.deadline);
+    }
+    return resolve(artifact, transitive, exclusions, null, deadline(resolutionTimeout, System.nanoTime()));
+  }
 
-    DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
-    session.setLocalRepositoryManager(system.newLocalRepositoryManager(session, localRepo));
-
-    LOGGER.info("Resolving " + artifact.toString());
-
-    DependencyFilter filter =
-        DependencyFilterUtils.andFilter(
-            DependencyFilterUtils.classpathFilter(
-                JavaScopes.COMPILE
-            ),
-            // Remove optionals and dependencies of optionals
-            (dependencyNode, list) -> {
-              for (DependencyNode parent : list) {
-                if (parent.getDependency().isOptional()) {
-                  return false;
-                }
-              }
-
-              return !dependencyNode.getDependency().isOptional();
-            },
+  private List<Artifact> resolve(Artifact artifact, boolean transitive, List<String> exclusions,
+                                 ResolutionRecorder recorder, long deadline) {
 
-            // Remove excluded dependencies
-            (dependencyNode, list) -> {
-              // Build the list of exclusion, traverse the tree.
-              Collection<Exclusion> ex = new ArrayList<>();
-              for (DependencyNode parent : list) {
-                ex.addAll(parent.getDependency().getExclusions());
-              }
-
-              for (Exclusion e : ex) {
-                // Check the the passed artifact is excluded
-                if (e.getArtifactId().equals(dependencyNode.getArtifact().getArtifactId())
-                    && e.getGroupId().equals(dependencyNode.getArtifact().getGroupId())) {
-                  return false;
-                }
-
-                // Check if a parent artifact is excluded
-                for (DependencyNode parent : list) {
-                  if (e.getArtifactId().equals(parent.getArtifact().getArtifactId())
-                      && e.getGroupId().equals(parent.getArtifact().getGroupId())) {
-                    return false;
-                  }
-                }
-              }
-              return true;
-            },
-
-            // Remove provided dependencies and transitive dependencies of provided dependencies
-            (dependencyNode, list) -> {
-              for (DependencyNode parent : list) {
-                if (!parent.getDependency().getScope().toLowerCase().equals("compile")) {
-                  return false;
-                }
-              }
-              return dependencyNode.getDependency().getScope().toLowerCase().equals("compile");
-            }
-        );
+    DefaultRepositorySystemSession session = newSession(recorder, deadline);
 
+    LOGGER.info("Resolving " + artifact.toString());
 
+    List<RemoteRepository> repositories = repositories();
     List<ArtifactResult> artifactResults;
     try {
+      List<ArtifactRequest> artifactRequests;
       if (!transitive) {
-        ArtifactRequest artifactRequest = new ArtifactRequest(artifact, remotes, null);
-        artifactResults = Collections.singletonList(system.resolveArtifact(session, artifactRequest));
+        artifactRequests = Collections.singletonList(new ArtifactRequest(artifact, repositories, null));
       } else {
         CollectRequest collectRequest = new CollectRequest();
-        Dependency root = new Dependency(artifact, JavaScopes.COMPILE)
-            .setExclusions(
-                exclusions.stream()
-                    .map(e -> {
-                      // Exclusion are structured as groupId:artifactId.
-                      String[] segments = e.split(":");
-                      if (segments.length != 2) {
-                        throw new IllegalStateException("Invalid exclusion format: " + e + " - exclusion are " +
-                            "structured as follows: groupId:artifactId");
-                      }
-                      return new Exclusion(segments[0], segments[1], null, null);
-                    })
-                    .collect(Collectors.toList()));
-        collectRequest.setRoot(root);
-        collectRequest.setRepositories(remotes);
-        DependencyRequest dependencyRequest = new DependencyRequest(collectRequest, filter);
-        artifactResults =
-            system.resolveDependencies(session, dependencyRequest).getArtifactResults();
-      }
-    } catch (DependencyResolutionException | ArtifactResolutionException e) {
-      throw new IllegalArgumentException("Cannot resolve artifact " + artifact.toString() +
-          " in maven repositories: " + e.getMessage());
+        collectRequest.setRoot(rootDependency(artifact, exclusions));
+        collectRequest.setRepositories(repositories);
+        // The graph is collected then its files are resolved, as RepositorySystem#resolveDependencies does, so
+        // both phases are measured
+        long begin = System.nanoTime();
+        DependencyNode root;
+        try {
+          root = system.collectDependencies(session, collectRequest).getRoot();
+        } finally {
+          phaseCompleted(recorder, ResolverMetrics.Phase.COLLECT, System.nanoTime() - begin);
+        }
+        artifactRequests = artifactRequests(root, newDependencyFilter());
+      }
+      long begin = System.nanoTime();
+      try {
+        artifactResults = system.resolveArtifacts(session, artifactRequests);
+      } finally {
+        phaseCompleted(recorder, ResolverMetrics.Phase.DOWNLOAD, System.nanoTime() - begin);
+      }
+      if (recorder != null) {
+        recorder.resolved(artifactResults);
+      }
+    } catch (DependencyCollectionException | ArtifactResolutionException e) {
+      if (expired(deadline)) {
+        throw timedOut(artifact.toString());
+      }
+      throw unresolved(artifact.toString(), e.getMessage(), repositories);
     } catch (NullPointerException e) {
       // Sucks, but aether throws a NPE if repository name is invalid....
       throw new IllegalArgumentException("Cannot find module " + artifact.toString() + ". Maybe repository URL is invalid?");
@@ -283,6 +422,163 @@ public class ResolverImpl implements Resolver {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Creates the filter selecting the dependencies added to the classpath: the compile scoped, non optional and non
+   * excluded dependencies.
+   */
+  private static DependencyFilter newDependencyFilter() {
+    return DependencyFilterUtils.andFilter(
+        DependencyFilterUtils.classpathFilter(
+            JavaScopes.COMPILE
+        ),
+        // Remove optionals and dependencies of optionals
+        (dependencyNode, list) -> {
+          for (DependencyNode parent : list) {
+            if (parent.getDependency().isOptional()) {
+              return false;
+            }
+          }
+
+          return !dependencyNode.getDependency().isOptional();
+        },
+
+        // Remove excluded dependencies
+        (dependencyNode, list) -> {
+          // Build the list of exclusion, traverse the tree.
+          Collection<Exclusion> ex = new ArrayList<>();
+          for (DependencyNode parent : list) {
+            ex.addAll(parent.getDependency().getExclusions());
+          }
+
+          for (Exclusion e : ex) {
+            // Check the the passed artifact is excluded
+            if (e.getArtifactId().equals(dependencyNode.getArtifact().getArtifactId())
+                && e.getGroupId().equals(dependencyNode.getArtifact().getGroupId())) {
+              return false;
+            }
+
+            // Check if a parent artifact is excluded
+            for (DependencyNode parent : list) {
+              if (e.getArtifactId().equals(parent.getArtifact().getArtifactId())
+                  && e.getGroupId().equals(parent.getArtifact().getGroupId())) {
+                return false;
+              }
+            }
+          }
+          return true;
+        },
+
+        // Remove provided dependencies and transitive dependencies of provided dependencies
+        (dependencyNode, list) -> {
+          for (DependencyNode parent : list) {
+            if (!parent.getDependency().getScope().toLowerCase().equals("compile")) {
+              return false;
+            }
+          }
+          return dependencyNode.getDependency().getScope().toLowerCase().equals("compile");
+        }
+    );
+  }
+
+  /**
+   * Creates the requests resolving the files of the given graph, with the same traversal as
+   * RepositorySystem#resolveDependencies.
+   */
+  private static List<ArtifactRequest> artifactRequests(DependencyNode root, DependencyFilter filter) {
+    PreorderNodeListGenerator nodes = new PreorderNodeListGenerator();
+    root.accept(new TreeDependencyVisitor(new FilteringDependencyVisitor(nodes, filter)));
+    return nodes.getNodes().stream()
+        .filter(node -> node.getDependency() != null)
+        .map(ArtifactRequest::new)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * @return the remote repositories used by a resolution, without the ones skipped by their circuit breaker, the
+   * fastest first when they are ordered by latency
+   */
+  private List<RemoteRepository> repositories() {
+    List<RemoteRepository> repositories = health != null ? health.available(remotes) : remotes;
+    return latency != null ? latency.order(repositories) : repositories;
+  }
+
+  /**
+   * Checks whether a remote repository answers, with the transporter used by the resolutions so the proxy and the
+   * authentication of the repository are applied. The probe is bounded by the connect and read timeouts of the
+   * repository.
+   */
+  private boolean probe(RemoteRepository repository) {
+    long timeout = (long) connectTimeouts.get(repository.getId()) + readTimeouts.get(repository.getId());
+    Transporter transporter;
+    try {
+      transporter = transporters.newTransporter(newSession(null, deadline(timeout, System.nanoTime())), repository);
+    } catch (NoTransporterException e) {
+      return false;
+    }
+    try {
+      transporter.peek(new PeekTask(URI.create("")));
+      return true;
+    } catch (Exception e) {
+      return !RepositoryHealth.isRepositoryFailure(e);
+    } finally {
+      transporter.close();
+    }
+  }
+
+  /**
+   * Runs a task in the background, on the worker pool of the resolutions when the resolver has been initialized.
+   */
+  private void runInBackground(Runnable task) {
+    Vertx owner = vertx;
+    if (owner != null) {
+      Handler<Promise<Void>> blocking = promise -> {
+        task.run();
+        promise.complete();
+      };
+      WorkerExecutor executor = workerExecutor;
+      if (executor != null && workerExecutorOwner == owner) {
+        executor.executeBlocking(blocking, false);
+      } else {
+        owner.executeBlocking(blocking, false);
+      }
+    } else {
+      Thread thread = new Thread(task, "vert.x-maven-repository-probe");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  /**
+   * @return the urls of the remote repositories in the order they are queried by the next resolution.
+   */
+  public List<String> getRepositoryOrder() {
+    return repositories().stream().map(RemoteRepository::getUrl).collect(Collectors.toList());
+  }
+
+  /**
+   * @return the urls of the remote repositories currently skipped by their circuit breaker, see
+   * {@link ResolverOptions#setRepositoryFailureThreshold(int)}.
+   */
+  public List<String> getUnavailableRepositories() {
+    return health != null ? health.unavailable() : Collections.emptyList();
+  }
+
+  private static Dependency rootDependency(Artifact artifact, List<String> exclusions) {
+    return new Dependency(artifact, JavaScopes.COMPILE)
+        .setExclusions(
+            exclusions.stream()
+                .map(e -> {
+                  // Exclusion are structured as groupId:artifactId.
+                  String[] segments = e.split(":");
+                  if (segments.length != 2) {
+                    throw new IllegalStateException("Invalid exclusion format: " + e + " - exclusion are " +
+                        "structured as follows: groupId:artifactId");
+                  }
+                  return new Exclusion(segments[0], segments[1], null, null);
+                })
+                .collect(Collectors.toList()));
+  }
+
   public void customizeRemoteRepoBuilder(RemoteRepository.Builder builder) {
     if (remoteSnapshotPolicy != null && !remoteSnapshotPolicy.isEmpty()) {
       builder.setSnapshotPolicy(new RepositoryPolicy(true, remoteSnapshotPolicy, RepositoryPolicy.CHECKSUM_POLICY_WARN));
@@ -308,8 +604,771 @@ public class ResolverImpl implements Resolver {
 
   @Override
   public List<Artifact> resolve(String gacv, ResolutionOptions options) {
-    DefaultArtifact artifact = new DefaultArtifact(gacv);
-    return resolve(artifact, options.isWithTransitive(), options.getExclusions());
+    long begin = System.nanoTime();
+    return resolve(gacv, options, null, begin, deadline(timeout(options), begin),
+        DeploymentEvents.resolutionStarted());
+  }
+
+  private List<Artifact> resolve(String gacv, ResolutionOptions options, ResolutionRecorder recorder, long begin,
+                                 long deadline, Object event) {
+    ResolutionKey key = new ResolutionKey(gacv, options);
+    List<Artifact> cached = cache.get(key);
+    if (cached != null) {
+      LOGGER.debug("Resolved " + gacv + " from the resolution cache");
+      recordSuccess(key, event, begin, true, cached.size());
+      return new ArrayList<>(cached);
+    }
+    IllegalArgumentException failure = failures.get(key);
+    if (failure != null) {
+      LOGGER.debug("Not resolving " + gacv + ", the previous resolution failed recently");
+      recordFailure(key, event, begin);
+      throw failure;
+    }
+
+    // Concurrent resolutions of the same key share a single resolution
+    CompletableFuture<List<Artifact>> resolution = new CompletableFuture<>();
+    CompletableFuture<List<Artifact>> pending;
+    while ((pending = inflight.putIfAbsent(key, resolution)) != null) {
+      LOGGER.debug("Waiting for the pending resolution of " + gacv);
+      List<Artifact> artifacts;
+      try {
+        artifacts = await(key, pending, deadline);
+      } catch (RuntimeException e) {
+        recordFailure(key, event, begin);
+        throw e;
+      }
+      if (artifacts != null) {
+        recordSuccess(key, event, begin, true, artifacts.size());
+        return new ArrayList<>(artifacts);
+      }
+      // The pending resolution timed out on its own deadline, this one has its own deadline
+      inflight.remove(key, pending);
+    }
+    try {
+      // The resolution may have completed between the cache lookup and the registration
+      boolean hit = true;
+      List<Artifact> artifacts = cache.get(key);
+      if (artifacts != null) {
+        artifacts = new ArrayList<>(artifacts);
+      } else if ((artifacts = resolveLocally(key)) == null) {
+        hit = false;
+        artifacts = resolve(key, recorder, deadline);
+        failures.succeeded(key);
+        cache.put(key, artifacts);
+        if (index != null) {
+          index.write(key, artifacts);
+        }
+      }
+      resolution.complete(Collections.unmodifiableList(new ArrayList<>(artifacts)));
+      recordSuccess(key, event, begin, hit, artifacts.size());
+      return artifacts;
+    } catch (Throwable t) {
+      if (t instanceof IllegalArgumentException && !(t instanceof RepositoriesSkippedException)) {
+        failures.failed(key, (IllegalArgumentException) t);
+      }
+      resolution.completeExceptionally(t);
+      recordFailure(key, event, begin);
+      throw t;
+    } finally {
+      inflight.remove(key, resolution);
+    }
+  }
+
+  private static boolean overridesResolve(Class<?> type) {
+    try {
+      return type.getMethod("resolve", Artifact.class, boolean.class, List.class).getDeclaringClass()
+          != ResolverImpl.class;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Resolves the given key through {@link #resolve(Artifact, boolean, List)}, so subclasses can customize it.
+   */
+  private List<Artifact> resolve(ResolutionKey key, ResolutionRecorder recorder, long deadline) {
+    Call previous = calls.get();
+    calls.set(new Call(recorder, deadline));
+    try {
+      return resolve(new DefaultArtifact(key.gacv()), key.options().isWithTransitive(), key.options().getExclusions());
+    } finally {
+      if (previous != null) {
+        calls.set(previous);
+      } else {
+        calls.remove();
+      }
+    }
+  }
+
+  /**
+   * Resolves the given coordinates asynchronously. Cached results are returned immediately and a resolution already
+   * in progress for the same coordinates is joined, only an actual resolution uses a worker thread.
+   *
+   * @param vertx   the Vert.x instance
+   * @param gacv    the dependency, using the GACV form.
+   * @param options the resolution options
+   * @return a future completed with the list of resolved artifacts
+   */
+  @Override
+  public Future<List<Artifact>> resolve(Vertx vertx, String gacv, ResolutionOptions options) {
+    return resolve(vertx, gacv, options, null);
+  }
+
+  /**
+   * Resolves the given coordinates asynchronously like {@link #resolve(Vertx, String, ResolutionOptions)}, recording
+   * the origin of the artifacts, the downloads and the duration of the phases of the resolution.
+   *
+   * @param vertx   the Vert.x instance
+   * @param gacv    the dependency, using the GACV form.
+   * @param options the resolution options
+   * @return a future completed with the report of the resolution
+   */
+  @Override
+  public Future<ResolutionReport> resolveWithReport(Vertx vertx, String gacv, ResolutionOptions options) {
+    long begin = System.nanoTime();
+    ResolutionRecorder recorder = new ResolutionRecorder();
+    return resolve(vertx, gacv, options, recorder)
+        .map(artifacts -> recorder.report(gacv, artifacts, System.nanoTime() - begin));
+  }
+
+  private Future<List<Artifact>> resolve(Vertx vertx, String gacv, ResolutionOptions options,
+                                         ResolutionRecorder recorder) {
+    long begin = System.nanoTime();
+    long timeout = timeout(options);
+    Object event = DeploymentEvents.resolutionStarted();
+    ResolutionKey key = new ResolutionKey(gacv, options);
+    List<Artifact> cached = cache.get(key);
+    if (cached != null) {
+      LOGGER.debug("Resolved " + gacv + " from the resolution cache");
+      recordSuccess(key, event, begin, true, cached.size());
+      return Future.succeededFuture(new ArrayList<>(cached));
+    }
+    IllegalArgumentException failure = failures.get(key);
+    if (failure != null) {
+      LOGGER.debug("Not resolving " + gacv + ", the previous resolution failed recently");
+      recordFailure(key, event, begin);
+      return Future.failedFuture(failure);
+    }
+    // The time spent waiting for a worker thread counts
+    long deadline = deadline(timeout, begin);
+    CompletableFuture<List<Artifact>> pending = inflight.get(key);
+    if (pending != null) {
+      LOGGER.debug("Waiting for the pending resolution of " + gacv);
+      return withTimeout(vertx, key, timeout, Future.fromCompletionStage(pending, vertx.getOrCreateContext())
+          .compose(artifacts -> {
+            recordSuccess(key, event, begin, true, artifacts.size());
+            return Future.succeededFuture(new ArrayList<>(artifacts));
+          }, err -> {
+            if (err instanceof TimedOutException) {
+              // The pending resolution timed out on its own deadline, this one has its own deadline
+              inflight.remove(key, pending);
+              return execute(vertx, () -> resolve(gacv, options, recorder, begin, deadline, event));
+            }
+            recordFailure(key, event, begin);
+            return Future.failedFuture(err);
+          }));
+    }
+    return withTimeout(vertx, key, timeout,
+        execute(vertx, () -> resolve(gacv, options, recorder, begin, deadline, event)));
+  }
+
+  /**
+   * Fails the given resolution when the timeout elapses, without waiting for the worker thread: the transfers in
+   * progress are cancelled by the resolution itself.
+   */
+  private static Future<List<Artifact>> withTimeout(Vertx vertx, ResolutionKey key, long timeout,
+                                                    Future<List<Artifact>> resolution) {
+    if (timeout <= 0) {
+      return resolution;
+    }
+    Promise<List<Artifact>> promise = Promise.promise();
+    long timer = vertx.setTimer(timeout, id -> promise.tryFail(timedOut(key.gacv())));
+    resolution.onComplete(ar -> {
+      vertx.cancelTimer(timer);
+      promise.tryHandle(ar);
+    });
+    return promise.future();
   }
-}
 
+  /**
+   * Resolves several artifacts at once. The cached and indexed resolutions are reused, then the remaining artifacts
+   * are resolved with a single session: the graph of each artifact is collected (the descriptors are parsed once for
+   * all the graphs), and the files of all the graphs are downloaded together.
+   * <p/>
+   * Each graph is collected separately, the artifacts are deployed in separate classloaders so the version of a
+   * dependency must not be mediated across them.
+   * <p/>
+   * When a subclass overrides {@link #resolve(Artifact, boolean, List)}, the remaining artifacts are resolved one by
+   * one with it instead, so the batch does not bypass the customized resolution.
+   * <p/>
+   * A dependency that cannot be resolved does not prevent the resolution of the other ones, which are cached. The
+   * failure is thrown once all the dependencies have been processed: the failure of the dependency when only one
+   * failed, otherwise an {@link IllegalArgumentException} suppressing the failure of each dependency.
+   *
+   * @param dependencies the dependencies, using the GACV form, with their resolution options
+   * @return the resolved artifacts of each dependency
+   */
+  @Override
+  public Map<String, List<Artifact>> resolveAll(Map<String, ResolutionOptions> dependencies) {
+    long begin = System.nanoTime();
+    // The batch is bounded by the shortest timeout of the dependencies
+    long deadline = 0;
+    for (ResolutionOptions options : dependencies.values()) {
+      long dependencyDeadline = deadline(timeout(options), begin);
+      if (dependencyDeadline != 0 && (deadline == 0 || dependencyDeadline - deadline < 0)) {
+        deadline = dependencyDeadline;
+      }
+    }
+    Map<String, ResolutionKey> keys = new LinkedHashMap<>();
+    Map<String, List<Artifact>> resolved = new HashMap<>();
+    Map<String, RuntimeException> failed = new LinkedHashMap<>();
+    // The events of the dependencies whose outcome is not recorded yet
+    Map<String, Object> events = new HashMap<>();
+    try {
+      for (Map.Entry<String, ResolutionOptions> dependency : dependencies.entrySet()) {
+        ResolutionKey key = new ResolutionKey(dependency.getKey(), dependency.getValue());
+        keys.put(dependency.getKey(), key);
+        events.put(dependency.getKey(), DeploymentEvents.resolutionStarted());
+        List<Artifact> cached = cache.get(key);
+        if (cached != null) {
+          resolved.put(dependency.getKey(), new ArrayList<>(cached));
+          continue;
+        }
+        IllegalArgumentException failure = failures.get(key);
+        if (failure != null) {
+          LOGGER.debug("Not resolving " + key + ", the previous resolution failed recently");
+          failed.put(dependency.getKey(), failure);
+        }
+      }
+
+      // Resolutions already in progress are joined, the other ones are resolved by this batch
+      Map<String, CompletableFuture<List<Artifact>>> pending = new HashMap<>();
+      Map<ResolutionKey, CompletableFuture<List<Artifact>>> owned = new LinkedHashMap<>();
+      for (Map.Entry<String, ResolutionKey> entry : keys.entrySet()) {
+        if (resolved.containsKey(entry.getKey()) || failed.containsKey(entry.getKey())
+            || owned.containsKey(entry.getValue())) {
+          continue;
+        }
+        CompletableFuture<List<Artifact>> resolution = new CompletableFuture<>();
+        CompletableFuture<List<Artifact>> other = inflight.putIfAbsent(entry.getValue(), resolution);
+        if (other != null) {
+          pending.put(entry.getKey(), other);
+        } else {
+          owned.put(entry.getValue(), resolution);
+        }
+      }
+      Set<ResolutionKey> remote;
+      try {
+        remote = resolve(owned, deadline);
+      } catch (Throwable t) {
+        owned.values().forEach(resolution -> resolution.completeExceptionally(t));
+        throw t;
+      } finally {
+        owned.forEach(inflight::remove);
+      }
+
+      Map<String, List<Artifact>> result = new LinkedHashMap<>();
+      for (Map.Entry<String, ResolutionKey> entry : keys.entrySet()) {
+        String dependency = entry.getKey();
+        ResolutionKey key = entry.getValue();
+        List<Artifact> artifacts = resolved.get(dependency);
+        if (artifacts == null && !failed.containsKey(dependency)) {
+          CompletableFuture<List<Artifact>> resolution = owned.get(key);
+          try {
+            artifacts = await(key, resolution != null ? resolution : pending.get(dependency), deadline);
+            if (artifacts == null && resolution != null) {
+              throw timedOut(key.gacv());
+            }
+          } catch (RuntimeException e) {
+            failed.put(dependency, e);
+          }
+          if (artifacts == null && !failed.containsKey(dependency)) {
+            // The pending resolution timed out on its own deadline, it is resolved again with the deadline of the batch
+            inflight.remove(key, pending.get(dependency));
+            try {
+              result.put(dependency, resolve(key.gacv(), key.options(), null, begin, deadline,
+                  events.remove(dependency)));
+            } catch (RuntimeException e) {
+              failed.put(dependency, e);
+            }
+            continue;
+          }
+          if (artifacts != null) {
+            artifacts = new ArrayList<>(artifacts);
+          }
+        }
+        if (artifacts == null) {
+          recordFailure(key, events.remove(dependency), begin);
+        } else {
+          recordSuccess(key, events.remove(dependency), begin, !remote.contains(key), artifacts.size());
+          result.put(dependency, artifacts);
+        }
+      }
+      if (failed.size() == 1) {
+        throw failed.values().iterator().next();
+      }
+      if (!failed.isEmpty()) {
+        IllegalArgumentException failure = new IllegalArgumentException(failed.values().stream()
+            .map(Throwable::getMessage)
+            .collect(Collectors.joining("; ")));
+        failed.values().forEach(failure::addSuppressed);
+        throw failure;
+      }
+      return result;
+    } finally {
+      // The dependencies left unresolved by an unexpected error
+      events.forEach((dependency, event) -> recordFailure(keys.get(dependency), event, begin));
+    }
+  }
+
+  /**
+   * The fast path of the resolution, avoiding the creation of a repository session: a release artifact resolved
+   * without its dependencies is looked up directly in the local repository, and a release graph is read from the
+   * resolution index when enabled. The dependencies are not read from the local POMs, the graph of a transitive
+   * resolution missing from the index is always collected.
+   *
+   * @param key the key
+   * @return the resolved artifacts, {@code null} if the full resolution is required
+   */
+  private List<Artifact> resolveLocally(ResolutionKey key) {
+    List<Artifact> artifacts = null;
+    if (!key.options().isWithTransitive()) {
+      Artifact artifact = localLookup.find(key);
+      if (artifact != null) {
+        artifacts = new ArrayList<>(Collections.singletonList(artifact));
+        LOGGER.debug("Resolved " + key + " from the local repository");
+      }
+    }
+    if (artifacts == null && index != null && (artifacts = index.read(key)) != null) {
+      LOGGER.debug("Resolved " + key + " from the resolution index");
+    }
+    if (artifacts != null) {
+      cache.put(key, artifacts);
+    }
+    return artifacts;
+  }
+
+  /**
+   * Resolves the given keys, completing their resolution future.
+   *
+   * @return the keys resolved from the repositories, the other ones have been resolved locally
+   */
+  private Set<ResolutionKey> resolve(Map<ResolutionKey, CompletableFuture<List<Artifact>>> resolutions,
+                                     long deadline) {
+    List<ResolutionKey> missing = new ArrayList<>();
+    for (Map.Entry<ResolutionKey, CompletableFuture<List<Artifact>>> resolution : resolutions.entrySet()) {
+      ResolutionKey key = resolution.getKey();
+      List<Artifact> artifacts = cache.get(key);
+      if (artifacts == null) {
+        artifacts = resolveLocally(key);
+      }
+      if (artifacts != null) {
+        resolution.getValue().complete(Collections.unmodifiableList(new ArrayList<>(artifacts)));
+      } else {
+        missing.add(key);
+      }
+    }
+    if (missing.isEmpty()) {
+      return Collections.emptySet();
+    }
+    if (customResolve) {
+      // The batch would bypass the resolution of the subclass, the artifacts are resolved one by one instead
+      for (ResolutionKey key : missing) {
+        CompletableFuture<List<Artifact>> resolution = resolutions.get(key);
+        List<Artifact> artifacts;
+        try {
+          artifacts = resolve(key, null, deadline);
+        } catch (IllegalArgumentException e) {
+          failed(key, resolution, e);
+          continue;
+        } catch (RuntimeException e) {
+          resolution.completeExceptionally(e);
+          continue;
+        }
+        resolved(key, resolution, artifacts);
+      }
+      return new HashSet<>(missing);
+    }
+
+    DefaultRepositorySystemSession session = newSession(null, deadline);
+    List<RemoteRepository> repositories = repositories();
+    DependencyFilter filter = newDependencyFilter();
+    Map<ResolutionKey, List<ArtifactRequest>> requests = new LinkedHashMap<>();
+    for (ResolutionKey key : missing) {
+      Artifact artifact = new DefaultArtifact(key.gacv());
+      LOGGER.info("Resolving " + artifact.toString());
+      try {
+        if (!key.options().isWithTransitive()) {
+          requests.put(key, Collections.singletonList(new ArtifactRequest(artifact, repositories, null)));
+        } else {
+          CollectRequest collectRequest = new CollectRequest();
+          collectRequest.setRoot(rootDependency(artifact, key.options().getExclusions()));
+          collectRequest.setRepositories(repositories);
+          long begin = System.nanoTime();
+          DependencyNode root;
+          try {
+            root = system.collectDependencies(session, collectRequest).getRoot();
+          } finally {
+            phaseCompleted(null, ResolverMetrics.Phase.COLLECT, System.nanoTime() - begin);
+          }
+          requests.put(key, artifactRequests(root, filter));
+        }
+      } catch (DependencyCollectionException e) {
+        if (expired(deadline)) {
+          resolutions.get(key).completeExceptionally(timedOut(artifact.toString()));
+          continue;
+        }
+        failed(key, resolutions.get(key), unresolved(artifact.toString(), e.getMessage(), repositories));
+      } catch (NullPointerException e) {
+        // Sucks, but aether throws a NPE if repository name is invalid....
+        failed(key, resolutions.get(key), new IllegalArgumentException("Cannot find module " + artifact.toString() +
+            ". Maybe repository URL is invalid?"));
+      }
+    }
+
+    // Download the files of all the graphs at once, an artifact shared by several graphs is requested once
+    Map<String, ArtifactRequest> distinct = new LinkedHashMap<>();
+    requests.values().forEach(list -> list.forEach(request ->
+        distinct.putIfAbsent(request.getArtifact().toString(), request)));
+    List<ArtifactResult> results;
+    long begin = System.nanoTime();
+    try {
+      results = system.resolveArtifacts(session, new ArrayList<>(distinct.values()));
+    } catch (ArtifactResolutionException e) {
+      results = e.getResults();
+    } finally {
+      phaseCompleted(null, ResolverMetrics.Phase.DOWNLOAD, System.nanoTime() - begin);
+    }
+    Map<String, ArtifactResult> byArtifact = new HashMap<>();
+    for (ArtifactResult result : results) {
+      byArtifact.put(result.getRequest().getArtifact().toString(), result);
+    }
+
+    requests.forEach((key, list) -> {
+      List<Artifact> artifacts = new ArrayList<>(list.size());
+      List<String> errors = new ArrayList<>();
+      for (ArtifactRequest request : list) {
+        ArtifactResult result = byArtifact.get(request.getArtifact().toString());
+        if (result != null && result.isResolved()) {
+          artifacts.add(result.getArtifact());
+        } else {
+          errors.add(result == null || result.getExceptions().isEmpty() ?
+              "Could not find artifact " + request.getArtifact() :
+              result.getExceptions().get(0).getMessage());
+        }
+      }
+      if (!errors.isEmpty() && expired(deadline)) {
+        resolutions.get(key).completeExceptionally(timedOut(key.gacv()));
+        return;
+      }
+      if (!errors.isEmpty()) {
+        failed(key, resolutions.get(key), unresolved(key.toString(), String.join(", ", errors), repositories));
+        return;
+      }
+      resolved(key, resolutions.get(key), artifacts);
+    });
+    return new HashSet<>(missing);
+  }
+
+  private void resolved(ResolutionKey key, CompletableFuture<List<Artifact>> resolution, List<Artifact> artifacts) {
+    failures.succeeded(key);
+    cache.put(key, artifacts);
+    if (index != null) {
+      index.write(key, artifacts);
+    }
+    resolution.complete(Collections.unmodifiableList(new ArrayList<>(artifacts)));
+  }
+
+  /**
+   * Records a successful resolution started at {@code begin} in the metrics and the flight recorder.
+   */
+  private void recordSuccess(ResolutionKey key, Object event, long begin, boolean cached, int artifacts) {
+    metrics.resolutionSucceeded(cached, System.nanoTime() - begin);
+    DeploymentEvents.resolutionEnded(event, key.gacv(), key.options().isWithTransitive(), cached ? "hit" : "miss",
+        artifacts);
+  }
+
+  /**
+   * Records a failed resolution started at {@code begin} in the metrics and the flight recorder.
+   */
+  private void recordFailure(ResolutionKey key, Object event, long begin) {
+    metrics.resolutionFailed(System.nanoTime() - begin);
+    DeploymentEvents.resolutionEnded(event, key.gacv(), key.options().isWithTransitive(), "failure", 0);
+  }
+
+  /**
+   * Records the duration of a phase of a resolution in the metrics and the recorder of the resolution, if any.
+   */
+  private void phaseCompleted(ResolutionRecorder recorder, ResolverMetrics.Phase phase, long duration) {
+    metrics.phaseCompleted(phase, duration);
+    if (recorder != null) {
+      recorder.phaseCompleted(phase, duration);
+    }
+  }
+
+  /**
+   * @return the timeout in milliseconds of a resolution with the given options, {@code 0} if none
+   */
+  private long timeout(ResolutionOptions options) {
+    return options.getTimeout() > 0 ? options.getTimeout() : resolutionTimeout;
+  }
+
+  /**
+   * @return the deadline of a resolution started at {@code begin}, as a {@link System#nanoTime()} value,
+   * {@code 0} if it has no timeout
+   */
+  private static long deadline(long timeout, long begin) {
+    if (timeout <= 0) {
+      return 0;
+    }
+    long deadline = begin + TimeUnit.MILLISECONDS.toNanos(timeout);
+    // 0 means no deadline
+    return deadline != 0 ? deadline : 1;
+  }
+
+  private static boolean expired(long deadline) {
+    return deadline != 0 && System.nanoTime() - deadline >= 0;
+  }
+
+  /**
+   * The failure of a resolution whose deadline has passed. It is not an {@link IllegalArgumentException}, so it is
+   * not remembered as a failed resolution.
+   */
+  private static IllegalStateException timedOut(String dependency) {
+    return new TimedOutException("Cannot resolve artifact " + dependency +
+        " in maven repositories: the resolution timed out");
+  }
+
+  /**
+   * The failure of a resolution which did not find the artifacts in the given repositories.
+   */
+  private IllegalArgumentException unresolved(String dependency, String cause, List<RemoteRepository> repositories) {
+    String message = "Cannot resolve artifact " + dependency + " in maven repositories: " + cause;
+    if (repositories.size() < remotes.size()) {
+      List<String> skipped = remotes.stream()
+          .filter(remote -> !repositories.contains(remote))
+          .map(RemoteRepository::getUrl)
+          .collect(Collectors.toList());
+      return new RepositoriesSkippedException(message + " (skipped the unavailable repositories " + skipped + ")");
+    }
+    return new IllegalArgumentException(message);
+  }
+
+  private void failed(ResolutionKey key, CompletableFuture<List<Artifact>> resolution,
+                      IllegalArgumentException failure) {
+    if (!(failure instanceof RepositoriesSkippedException)) {
+      failures.failed(key, failure);
+    }
+    resolution.completeExceptionally(failure);
+  }
+
+  /**
+   * Resolves several artifacts asynchronously with {@link #resolveAll(Map)}.
+   *
+   * @param vertx        the Vert.x instance
+   * @param dependencies the dependencies, using the GACV form, with their resolution options
+   * @return a future completed with the resolved artifacts of each dependency
+   */
+  @Override
+  public Future<Map<String, List<Artifact>>> resolveAll(Vertx vertx, Map<String, ResolutionOptions> dependencies) {
+    return execute(vertx, () -> resolveAll(dependencies));
+  }
+
+  /**
+   * Runs a resolution on the dedicated worker pool if there is one, on the Vert.x worker pool otherwise.
+   */
+  private <T> Future<T> execute(Vertx vertx, Callable<T> resolution) {
+    queuedResolutions.incrementAndGet();
+    AtomicBoolean started = new AtomicBoolean();
+    Handler<Promise<T>> task = promise -> {
+      started.set(true);
+      queuedResolutions.decrementAndGet();
+      activeResolutions.incrementAndGet();
+      try {
+        promise.complete(resolution.call());
+      } catch (Exception e) {
+        promise.fail(e);
+      } finally {
+        activeResolutions.decrementAndGet();
+      }
+    };
+    Future<T> future;
+    try {
+      WorkerExecutor executor = workerExecutor;
+      if (executor != null && workerExecutorOwner == vertx) {
+        future = executor.executeBlocking(task, false);
+      } else {
+        future = vertx.executeBlocking(task, false);
+      }
+    } catch (RuntimeException e) {
+      queuedResolutions.decrementAndGet();
+      throw e;
+    }
+    // The task is rejected when the worker pool or Vert.x is closed, it is not queued anymore
+    return future.onFailure(err -> {
+      if (started.compareAndSet(false, true)) {
+        queuedResolutions.decrementAndGet();
+      }
+    });
+  }
+
+
+  /**
+   * Creates the worker pool dedicated to the resolution when {@link ResolverOptions#getWorkerPoolSize()} is set.
+   *
+   * @param vertx the Vert.x instance
+   */
+  @Override
+  public synchronized void init(Vertx vertx) {
+    this.vertx = vertx;
+    if (workerPoolSize > 0 && workerExecutor == null) {
+      workerExecutorOwner = vertx;
+      workerExecutor = vertx.createSharedWorkerExecutor(workerPoolName, workerPoolSize, maxWorkerExecuteTime,
+          maxWorkerExecuteTimeUnit);
+    }
+  }
+
+  /**
+   * Closes the worker pool dedicated to the resolution, if any.
+   */
+  @Override
+  public synchronized void close() {
+    if (workerExecutor != null) {
+      workerExecutor.close();
+      workerExecutor = null;
+      workerExecutorOwner = null;
+    }
+  }
+
+  /**
+   * @return the number of asynchronous resolutions waiting for a worker thread.
+   */
+  public int getQueuedResolutions() {
+    return queuedResolutions.get();
+  }
+
+  /**
+   * @return the number of asynchronous resolutions currently running on a worker thread.
+   */
+  public int getActiveResolutions() {
+    return activeResolutions.get();
+  }
+
+  /**
+   * Waits for a resolution started by another caller, until the given deadline.
+   *
+   * @return the resolved artifacts, {@code null} when the resolution timed out on the deadline of the caller that
+   * started it: the failure is not shared, the waiting caller can resolve again with its own deadline
+   */
+  private static List<Artifact> await(ResolutionKey key, CompletableFuture<List<Artifact>> resolution,
+                                      long deadline) {
+    try {
+      if (deadline == 0) {
+        return resolution.join();
+      }
+      return resolution.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      throw timedOut(key.gacv());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while resolving " + key, e);
+    } catch (CompletionException | ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof TimedOutException) {
+        return null;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Clears the in-memory resolution cache, the recent failures and the cached artifact descriptors, the next
+   * resolutions go through the Maven repositories.
+   */
+  public void clearCache() {
+    cache.clear();
+    failures.clear();
+    sessionTemplate = newSessionTemplate();
+  }
+
+  /**
+   * A resolution that timed out. The resolutions joining it do not share this failure, as they have their own deadline.
+   */
+  private static class TimedOutException extends IllegalStateException {
+
+    TimedOutException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * The failure of a resolution which skipped unavailable repositories. It is not remembered as a failed resolution,
+   * the artifacts may be found once the repositories are available again.
+   */
+  private static class RepositoriesSkippedException extends IllegalArgumentException {
+
+    RepositoriesSkippedException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * A timeout capped to the time remaining before a deadline, computed when it is read. The remaining time is rounded
+   * up, so a timeout means the deadline has passed.
+   */
+  private static class RemainingTimeout extends Number {
+
+    private final int timeout;
+    private final long deadline;
+
+    RemainingTimeout(int timeout, long deadline) {
+      this.timeout = timeout;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public int intValue() {
+      long nanos = deadline - System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1) - 1;
+      long remaining = Math.max(1, Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMillis(nanos)));
+      // 0 means no timeout
+      return (int) (timeout > 0 ? Math.min(timeout, remaining) : remaining);
+    }
+
+    @Override
+    public long longValue() {
+      return intValue();
+    }
+
+    @Override
+    public float floatValue() {
+      return intValue();
+    }
+
+    @Override
+    public double doubleValue() {
+      return intValue();
+    }
+
+    @Override
+    public String toString() {
+      return String.valueOf(intValue());
+    }
+  }
+
+  private static class Call {
+
+    final ResolutionRecorder recorder;
+    final long deadline;
+
+    Call(ResolutionRecorder recorder, long deadline) {
+      this.recorder = recorder;
+      this.deadline = deadline;
+    }
+  }
+}
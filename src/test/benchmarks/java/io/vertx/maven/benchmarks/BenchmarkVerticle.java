@@ -0,0 +1,9 @@
+package io.vertx.maven.benchmarks;
+
+import io.vertx.core.AbstractVerticle;
+
+/**
+ * The verticle deployed by the modules of the {@link SyntheticRepository}.
+ */
+public class BenchmarkVerticle extends AbstractVerticle {
+}
@@ -0,0 +1,76 @@
+package io.vertx.maven.benchmarks;
+
+import io.vertx.maven.utils.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the creation of a {@link URLClassLoader} over the jars of a synthetic module, alone and followed by the
+ * lookup of a resource which is not on the classpath (so all the jars are opened).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ClassLoaderBenchmark {
+
+  @Param({"10", "100"})
+  public int jars;
+
+  private File repository;
+  private URL[] urls;
+
+  @Setup
+  public void setUp() throws Exception {
+    repository = Files.createTempDirectory("classloader-benchmark").toFile();
+    new SyntheticRepository(jars, 1, null).build(repository);
+    try (Stream<Path> files = Files.walk(repository.toPath())) {
+      urls = files.filter(file -> file.toString().endsWith(".jar")).map(file -> {
+        try {
+          return file.toUri().toURL();
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      }).toArray(URL[]::new);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    FileUtils.deleteQuietly(repository);
+  }
+
+  @Benchmark
+  public ClassLoader create() throws Exception {
+    URLClassLoader loader = new URLClassLoader(urls, null);
+    loader.close();
+    return loader;
+  }
+
+  @Benchmark
+  public URL createAndLookup() throws Exception {
+    try (URLClassLoader loader = new URLClassLoader(urls, null)) {
+      return loader.getResource("com/acme/bench/Missing.class");
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package io.vertx.maven.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.spi.VerticleFactory;
+import io.vertx.maven.MavenVerticleFactory;
+import io.vertx.maven.ResolverOptions;
+import io.vertx.maven.resolver.ResolverImpl;
+import io.vertx.maven.utils.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the end-to-end latency of {@code vertx.deployVerticle("maven:...")} followed by the undeployment of the
+ * module, with the resolution cached by the resolver or not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DeploymentBenchmark {
+
+  @Param({"10", "100"})
+  public int size;
+
+  @Param({"2"})
+  public int depth;
+
+  @Param({"true", "false"})
+  public boolean cached;
+
+  private File repository;
+  private Vertx vertx;
+  private MavenVerticleFactory factory;
+
+  @Setup
+  public void setUp() throws Exception {
+    repository = Files.createTempDirectory("deployment-benchmark").toFile();
+    new SyntheticRepository(size, depth, BenchmarkVerticle.class.getName()).build(repository);
+    vertx = Vertx.vertx();
+    // Replace the factory registered from the service loader, which uses the default repositories
+    for (VerticleFactory registered : new ArrayList<>(vertx.verticleFactories())) {
+      if (registered instanceof MavenVerticleFactory) {
+        vertx.unregisterVerticleFactory(registered);
+      }
+    }
+    factory = new MavenVerticleFactory(new ResolverOptions()
+        .setLocalRepository(repository.getAbsolutePath())
+        .setRemoteRepositories(Collections.emptyList()));
+    vertx.registerVerticleFactory(factory);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    vertx.close().toCompletionStage().toCompletableFuture().get();
+    FileUtils.deleteQuietly(repository);
+  }
+
+  @Benchmark
+  public String deploy() throws Exception {
+    if (!cached) {
+      ((ResolverImpl) factory.getResolver()).clearCache();
+    }
+    String id = vertx.deployVerticle("maven:" + SyntheticRepository.MODULE)
+        .toCompletionStage().toCompletableFuture().get();
+    vertx.undeploy(id).toCompletionStage().toCompletableFuture().get();
+    return id;
+  }
+}
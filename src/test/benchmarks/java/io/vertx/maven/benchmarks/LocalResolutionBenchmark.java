@@ -0,0 +1,94 @@
+package io.vertx.maven.benchmarks;
+
+import io.vertx.maven.ResolverOptions;
+import io.vertx.maven.resolver.ResolutionOptions;
+import io.vertx.maven.resolver.ResolverImpl;
+import io.vertx.maven.utils.FileUtils;
+import io.vertx.maven.utils.LocalArtifact;
+import io.vertx.maven.utils.LocalDependency;
+import io.vertx.maven.utils.LocalRepoBuilder;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the resolution of a graph fully available in the local repository through Aether with the
+ * local-repository-first path of the resolver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LocalResolutionBenchmark {
+
+  private static final String ROOT = "com.acme:acme:txt:1.0";
+
+  /**
+   * The number of artifacts of the graph, including the root.
+   */
+  @Param({"100"})
+  public int artifacts;
+
+  @Param({"true", "false"})
+  public boolean transitive;
+
+  private File local;
+  private ResolverImpl resolver;
+  private ResolutionOptions options;
+
+  @Setup
+  public void setUp() throws Exception {
+    local = Files.createTempDirectory("local-resolution-benchmark").toFile();
+    LocalRepoBuilder builder = new LocalRepoBuilder(local);
+    LocalArtifact root = new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact();
+    for (int i = 1; i < artifacts; i++) {
+      builder.addArtifact(new LocalArtifact("com.acme", "acme-lib-" + i, "1.0").generateMainArtifact());
+      root.addDependency(new LocalDependency("com.acme", "acme-lib-" + i, "1.0").type("txt"));
+    }
+    builder.addArtifact(root).build();
+    // Without the in-memory cache, each resolution takes the local path
+    resolver = new ResolverImpl(new ResolverOptions()
+        .setLocalRepository(local.getAbsolutePath())
+        .setRemoteRepositories(Collections.emptyList())
+        .setResolutionIndex(true)
+        .setResolutionCacheSize(0));
+    options = new ResolutionOptions().setWithTransitive(transitive);
+    // Writes the resolution index used by the local path
+    resolver.resolve(ROOT, options);
+  }
+
+  @TearDown
+  public void tearDown() {
+    resolver.close();
+    FileUtils.deleteQuietly(local);
+  }
+
+  @Benchmark
+  public List<Artifact> aether() {
+    return resolver.resolve(new DefaultArtifact(ROOT), transitive, Collections.emptyList());
+  }
+
+  @Benchmark
+  public List<Artifact> localRepositoryFirst() {
+    return resolver.resolve(ROOT, options);
+  }
+}
@@ -0,0 +1,70 @@
+package io.vertx.maven.benchmarks;
+
+import io.vertx.maven.utils.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Measures the lookup of the {@code Main-Verticle} attribute in the manifest of a module jar, depending on the
+ * number of entries of the jar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ManifestBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  public int entries;
+
+  private File jar;
+
+  @Setup
+  public void setUp() throws Exception {
+    jar = File.createTempFile("manifest-benchmark", ".jar");
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    manifest.getMainAttributes().putValue("Main-Verticle", "service:" + SyntheticRepository.SERVICE);
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()), manifest)) {
+      for (int i = 0; i < entries; i++) {
+        out.putNextEntry(new JarEntry("com/acme/bench/p" + (i % 100) + "/Resource" + i + ".txt"));
+        out.write(("resource " + i).getBytes(StandardCharsets.UTF_8));
+        out.closeEntry();
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    FileUtils.deleteQuietly(jar);
+  }
+
+  @Benchmark
+  public String mainVerticle() throws Exception {
+    try (JarFile file = new JarFile(jar)) {
+      return file.getManifest().getMainAttributes().getValue("Main-Verticle");
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package io.vertx.maven.benchmarks;
+
+import io.vertx.maven.MavenCoords;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of the module coordinates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MavenCoordsBenchmark {
+
+  @Param({"io.vertx:vertx-web:4.5.8", "io.vertx:vertx-web:jar:4.5.8", "io.vertx:vertx-web:jar:shaded:4.5.8"})
+  public String coordinates;
+
+  @Benchmark
+  public MavenCoords parse() {
+    return new MavenCoords(coordinates);
+  }
+}
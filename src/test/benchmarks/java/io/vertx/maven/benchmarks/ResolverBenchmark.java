@@ -0,0 +1,94 @@
+package io.vertx.maven.benchmarks;
+
+import io.vertx.maven.ResolverOptions;
+import io.vertx.maven.resolver.ResolverImpl;
+import io.vertx.maven.utils.FileUtils;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ResolverImpl#resolve(Artifact, boolean, List)} on a synthetic graph:
+ * <ul>
+ * <li>{@code cold}: the local repository is empty, the artifacts are downloaded from a {@code file:} remote
+ * repository by a new resolver</li>
+ * <li>{@code warm}: the artifacts are in the local repository and the resolver has already resolved them once</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ResolverBenchmark {
+
+  @Param({"10", "100"})
+  public int size;
+
+  @Param({"1", "5"})
+  public int depth;
+
+  @Param({"true", "false"})
+  public boolean transitive;
+
+  private File root;
+  private File remote;
+  private File local;
+  private ResolverImpl warm;
+  private ResolverImpl cold;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = Files.createTempDirectory("resolver-benchmark").toFile();
+    remote = new File(root, "remote");
+    local = new File(root, "local");
+    new SyntheticRepository(size, depth, null).build(remote);
+    warm = new ResolverImpl(new ResolverOptions()
+        .setLocalRepository(remote.getAbsolutePath())
+        .setRemoteRepositories(Collections.emptyList()));
+    warm.resolve(new DefaultArtifact(SyntheticRepository.MODULE), transitive, Collections.emptyList());
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpColdResolver() {
+    FileUtils.deleteQuietly(local);
+    cold = new ResolverImpl(new ResolverOptions()
+        .setLocalRepository(local.getAbsolutePath())
+        .setRemoteRepositories(Collections.singletonList(remote.toURI().toString())));
+  }
+
+  @TearDown
+  public void tearDown() {
+    warm.close();
+    FileUtils.deleteQuietly(root);
+  }
+
+  @Benchmark
+  public List<Artifact> cold() {
+    return cold.resolve(new DefaultArtifact(SyntheticRepository.MODULE), transitive, Collections.emptyList());
+  }
+
+  @Benchmark
+  public List<Artifact> warm() {
+    return warm.resolve(new DefaultArtifact(SyntheticRepository.MODULE), transitive, Collections.emptyList());
+  }
+}
@@ -0,0 +1,107 @@
+package io.vertx.maven.benchmarks;
+
+import io.vertx.maven.utils.FileUtils;
+import io.vertx.maven.utils.LocalArtifact;
+import io.vertx.maven.utils.LocalDependency;
+import io.vertx.maven.utils.LocalRepoBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Generates a repository of jar artifacts with {@link LocalRepoBuilder}. The root module depends on chains of
+ * {@code depth} artifacts, so the graph contains {@code size} artifacts and is {@code depth} levels deep.
+ * <p/>
+ * The root module declares the {@link #SERVICE} service as {@code Main-Verticle}, whose descriptor deploys the given
+ * verticle class.
+ */
+public class SyntheticRepository {
+
+  public static final String GROUP_ID = "com.acme.bench";
+  public static final String VERSION = "1.0";
+  public static final String MODULE = GROUP_ID + ":module:" + VERSION;
+  public static final String SERVICE = "bench.service";
+
+  private final int size;
+  private final int depth;
+  private final String mainVerticle;
+
+  /**
+   * @param size         the number of artifacts, including the root module
+   * @param depth        the depth of the graph
+   * @param mainVerticle the verticle deployed by the module, may be {@code null}
+   */
+  public SyntheticRepository(int size, int depth, String mainVerticle) {
+    if (size < 1 || depth < 1) {
+      throw new IllegalArgumentException("The size and the depth must be positive");
+    }
+    this.size = size;
+    this.depth = depth;
+    this.mainVerticle = mainVerticle;
+  }
+
+  /**
+   * Installs the artifacts in the given repository, replacing its content.
+   *
+   * @param repository the repository
+   */
+  public void build(File repository) throws IOException {
+    File files = Files.createTempDirectory("synthetic-repository").toFile();
+    try {
+      List<LocalArtifact> artifacts = new ArrayList<>(size);
+      artifacts.add(new LocalArtifact(GROUP_ID, "module", VERSION).file(moduleJar(new File(files, "module.jar"))));
+      for (int i = 1; i < size; i++) {
+        String artifactId = "lib-" + i;
+        LocalArtifact artifact = new LocalArtifact(GROUP_ID, artifactId, VERSION)
+            .file(libraryJar(new File(files, artifactId + ".jar"), artifactId));
+        // Artifacts are dealt round-robin across the levels, each one depending on the previous level
+        int level = (i - 1) % depth;
+        LocalArtifact dependent = level == 0 ? artifacts.get(0) : artifacts.get(i - 1);
+        dependent.addDependency(new LocalDependency(GROUP_ID, artifactId, VERSION));
+        artifacts.add(artifact);
+      }
+      LocalRepoBuilder builder = new LocalRepoBuilder(repository);
+      artifacts.forEach(builder::addArtifact);
+      builder.build();
+    } finally {
+      FileUtils.deleteQuietly(files);
+    }
+  }
+
+  private File moduleJar(File file) throws IOException {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    if (mainVerticle != null) {
+      manifest.getMainAttributes().putValue("Main-Verticle", "service:" + SERVICE);
+    }
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(file.toPath()), manifest)) {
+      if (mainVerticle != null) {
+        write(out, SERVICE + ".json", "{\"main\":\"" + mainVerticle + "\"}");
+      }
+    }
+    return file;
+  }
+
+  private static File libraryJar(File file, String artifactId) throws IOException {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(file.toPath()), manifest)) {
+      write(out, "com/acme/bench/" + artifactId.replace('-', '_') + "/resource.txt", artifactId);
+    }
+    return file;
+  }
+
+  private static void write(JarOutputStream out, String name, String content) throws IOException {
+    out.putNextEntry(new JarEntry(name));
+    out.write(content.getBytes(StandardCharsets.UTF_8));
+    out.closeEntry();
+  }
+}
@@ -0,0 +1,76 @@
+package io.vertx.maven;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+
+public class ArtifactMetadataCacheTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testMetadataIsReadOnce() throws Exception {
+    File jar = createJar(folder.newFile("module.jar"), "my.MainVerticle");
+    ArtifactMetadataCache cache = new ArtifactMetadataCache(null);
+    ArtifactMetadata metadata = cache.get(jar);
+    assertEquals("my.MainVerticle", metadata.mainAttribute("Main-Verticle"));
+    assertEquals("my.MainVerticle", metadata.mainAttribute("main-verticle"));
+    assertTrue(metadata.directories().contains("my/"));
+    assertTrue(metadata.directories().contains(""));
+    assertSame(metadata, cache.get(jar));
+  }
+
+  @Test
+  public void testMetadataIsReadAgainWhenTheJarChanges() throws Exception {
+    File jar = createJar(folder.newFile("module.jar"), "my.MainVerticle");
+    ArtifactMetadataCache cache = new ArtifactMetadataCache(null);
+    ArtifactMetadata metadata = cache.get(jar);
+    createJar(jar, "my.OtherMainVerticle");
+    assertTrue(jar.setLastModified(jar.lastModified() + 2000));
+    ArtifactMetadata updated = cache.get(jar);
+    assertNotSame(metadata, updated);
+    assertEquals("my.OtherMainVerticle", updated.mainAttribute("Main-Verticle"));
+  }
+
+  @Test
+  public void testMetadataIsStoredOnDisk() throws Exception {
+    File jar = createJar(folder.newFile("module.jar"), "my.MainVerticle");
+    File directory = folder.newFolder("metadata");
+    new ArtifactMetadataCache(directory).get(jar);
+    assertEquals(1, directory.listFiles((dir, name) -> name.endsWith(".json")).length);
+
+    ArtifactMetadata metadata = new ArtifactMetadataCache(directory).get(jar);
+    assertEquals("my.MainVerticle", metadata.mainAttribute("Main-Verticle"));
+    assertTrue(metadata.directories().contains(""));
+    assertTrue(metadata.directories().contains("my/"));
+  }
+
+  private File createJar(File jar, String mainVerticle) throws Exception {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    manifest.getMainAttributes().put(new Attributes.Name("Main-Verticle"), mainVerticle);
+    try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar), manifest)) {
+      out.putNextEntry(new JarEntry("my.service.json"));
+      out.write(("{\"main\":\"" + mainVerticle + "\"}").getBytes(StandardCharsets.UTF_8));
+      out.closeEntry();
+      out.putNextEntry(new JarEntry("my/MainVerticle.class"));
+      out.write(new byte[]{0});
+      out.closeEntry();
+    }
+    return jar;
+  }
+}
@@ -0,0 +1,118 @@
+package io.vertx.maven;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Context;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class ModuleClassLoaderPoolTest {
+
+  private final ClassLoader parent = ModuleClassLoaderPoolTest.class.getClassLoader();
+
+  @Test
+  public void testLoadersAreSharedByClasspath() throws Exception {
+    ModuleClassLoaderPool pool = new ModuleClassLoaderPool();
+    URL[] classpath = {new File("target/classes").toURI().toURL()};
+    URLClassLoader first = pool.acquire(classpath, parent);
+    URLClassLoader second = pool.acquire(new URL[]{new File("target/classes").toURI().toURL()}, parent);
+    assertSame(first, second);
+    assertEquals(1, pool.size());
+
+    URLClassLoader other = pool.acquire(new URL[]{new File("target/test-classes").toURI().toURL()}, parent);
+    assertNotSame(first, other);
+    URLClassLoader otherParent = pool.acquire(classpath, null);
+    assertNotSame(first, otherParent);
+    assertEquals(3, pool.size());
+  }
+
+  @Test
+  public void testLoaderIsClosedWhenReleasedByAllUsers() throws Exception {
+    ModuleClassLoaderPool pool = new ModuleClassLoaderPool();
+    URL[] classpath = {new File("target/test-classes").toURI().toURL()};
+    URLClassLoader loader = pool.acquire(classpath, null);
+    pool.retain(loader);
+    assertNotNull(loader.findResource("constants.json"));
+
+    pool.release(loader);
+    assertEquals(1, pool.size());
+    assertNotNull(loader.findResource("constants.json"));
+
+    pool.release(loader);
+    assertEquals(0, pool.size());
+    // Closed loaders do not find anything anymore
+    assertNull(loader.findResource("constants.json"));
+
+    // Releasing twice is harmless, acquiring again creates a new loader
+    pool.release(loader);
+    assertNotSame(loader, pool.acquire(classpath, null));
+  }
+
+  @Test
+  public void testReleasedLoaderCanBeCollected() throws Exception {
+    ModuleClassLoaderPool pool = new ModuleClassLoaderPool();
+    URL[] classpath = {new File("target/test-classes").toURI().toURL()};
+    URLClassLoader loader = pool.acquire(classpath, null);
+    WeakReference<URLClassLoader> ref = new WeakReference<>(loader);
+    pool.release(loader);
+    loader = null;
+    for (int i = 0; i < 50 && ref.get() != null; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    assertNull(ref.get());
+  }
+
+  @Test
+  public void testLoaderIsRemovedWhenDeploymentFails() throws Exception {
+    ModuleClassLoaderPool pool = new ModuleClassLoaderPool();
+    URL[] classpath = {new File("target/test-classes").toURI().toURL()};
+    URLClassLoader loader = pool.acquire(classpath, null);
+    ModuleVerticle verticle = new ModuleVerticle(new AbstractVerticle() {
+      @Override
+      public void init(Vertx vertx, Context context) {
+        throw new IllegalStateException("Cannot initialize");
+      }
+    }, () -> pool.release(loader));
+    try {
+      verticle.init(null, null);
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+    assertEquals(0, pool.size());
+    assertNull(loader.findResource("constants.json"));
+    // Undeploying the failed verticle afterwards does not release the loader twice
+    verticle.release();
+    assertEquals(0, pool.size());
+  }
+
+  @Test
+  public void testLoaderIsRemovedWhenStartFails() throws Exception {
+    ModuleClassLoaderPool pool = new ModuleClassLoaderPool();
+    URL[] classpath = {new File("target/test-classes").toURI().toURL()};
+    URLClassLoader loader = pool.acquire(classpath, null);
+    ModuleVerticle verticle = new ModuleVerticle(new AbstractVerticle() {
+      @Override
+      public void start(Promise<Void> startPromise) {
+        startPromise.fail("Cannot start");
+      }
+    }, () -> pool.release(loader));
+    Promise<Void> start = Promise.promise();
+    verticle.start(start);
+    assertTrue(start.future().failed());
+    assertEquals(0, pool.size());
+  }
+}
@@ -0,0 +1,121 @@
+package io.vertx.maven;
+
+import io.vertx.maven.utils.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.fail;
+
+public class ModuleClassLoaderTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testLoadClassFromDirectory() throws Exception {
+    File classes = new File("target/test-classes");
+    try (ModuleClassLoader loader = new ModuleClassLoader(new URL[]{classes.toURI().toURL()}, null)) {
+      Class<?> clazz = loader.loadClass(FileUtils.class.getName());
+      assertSame(loader, clazz.getClassLoader());
+      assertNotNull(clazz.getPackage());
+      assertEquals(classes.toURI().toURL(), clazz.getProtectionDomain().getCodeSource().getLocation());
+      try {
+        loader.loadClass("io.vertx.maven.utils.DoesNotExist");
+        fail("Exception expected");
+      } catch (ClassNotFoundException e) {
+        // OK
+      }
+    }
+  }
+
+  @Test
+  public void testResourcesAreLookedUpInTheIndexedJars() throws Exception {
+    File first = createJar("first.jar", "META-INF/services/my.Service", "first", "a/b/c.txt", "c");
+    File second = createJar("second.jar", "META-INF/services/my.Service", "second", "d/e.txt", "e");
+    URL[] urls = {first.toURI().toURL(), second.toURI().toURL()};
+    try (ModuleClassLoader loader = new ModuleClassLoader(urls, null)) {
+      List<URL> services = Collections.list(loader.getResources("META-INF/services/my.Service"));
+      assertEquals(2, services.size());
+      assertEquals("first", read(services.get(0)));
+      assertEquals("second", read(services.get(1)));
+
+      assertEquals("c", read(loader.getResource("a/b/c.txt")));
+      assertEquals("e", read(loader.getResource("d/e.txt")));
+      assertNull(loader.getResource("a/b/missing.txt"));
+      assertNull(loader.getResource("missing/e.txt"));
+    }
+  }
+
+  @Test
+  public void testResourceUrlsAreEncoded() throws Exception {
+    File jar = createJar("encoded.jar", "a b/c#d.txt", "spaces", "a b/\u00e9t\u00e9.txt", "accents");
+    try (ModuleClassLoader loader = new ModuleClassLoader(new URL[]{jar.toURI().toURL()}, null);
+         URLClassLoader reference = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null)) {
+      URL url = loader.getResource("a b/c#d.txt");
+      assertEquals(reference.getResource("a b/c#d.txt"), url);
+      assertEquals("spaces", read(url));
+      url = loader.getResource("a b/\u00e9t\u00e9.txt");
+      assertEquals(reference.getResource("a b/\u00e9t\u00e9.txt"), url);
+      assertEquals("accents", read(url));
+    }
+  }
+
+  @Test
+  public void testManifestClassPathFallsBackToUrlClassLoader() throws Exception {
+    File library = createJar("library.jar", "lib/resource.txt", "library");
+    File module = folder.newFile("module.jar");
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, library.getName());
+    new JarOutputStream(new FileOutputStream(module), manifest).close();
+    try (ModuleClassLoader loader = new ModuleClassLoader(new URL[]{module.toURI().toURL()}, null)) {
+      assertEquals("library", read(loader.getResource("lib/resource.txt")));
+    }
+  }
+
+  private File createJar(String name, String... entries) throws Exception {
+    File jar = folder.newFile(name);
+    try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+      for (int i = 0; i < entries.length; i += 2) {
+        out.putNextEntry(new JarEntry(entries[i]));
+        out.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+        out.closeEntry();
+      }
+    }
+    return jar;
+  }
+
+  private static String read(URL url) throws Exception {
+    URLConnection connection = url.openConnection();
+    connection.setUseCaches(false);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (InputStream in = connection.getInputStream()) {
+      byte[] buffer = new byte[256];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
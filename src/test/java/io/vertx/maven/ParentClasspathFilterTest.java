@@ -0,0 +1,69 @@
+package io.vertx.maven;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class ParentClasspathFilterTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testPolicies() throws Exception {
+    File jar = createJar("org.acme", "lib", "1.0");
+    try (URLClassLoader parent = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null)) {
+      ParentClasspathFilter none = new ParentClasspathFilter(ParentClasspathPolicy.NONE);
+      ParentClasspathFilter same = new ParentClasspathFilter(ParentClasspathPolicy.SAME_VERSION);
+      ParentClasspathFilter any = new ParentClasspathFilter(ParentClasspathPolicy.ANY_VERSION);
+
+      assertFalse(none.isProvided(new DefaultArtifact("org.acme:lib:1.0"), parent));
+      assertTrue(same.isProvided(new DefaultArtifact("org.acme:lib:1.0"), parent));
+      assertTrue(any.isProvided(new DefaultArtifact("org.acme:lib:1.0"), parent));
+
+      assertFalse(same.isProvided(new DefaultArtifact("org.acme:lib:2.0"), parent));
+      assertTrue(any.isProvided(new DefaultArtifact("org.acme:lib:2.0"), parent));
+
+      assertFalse(any.isProvided(new DefaultArtifact("org.acme:other:1.0"), parent));
+      assertFalse(any.isProvided(new DefaultArtifact("org.acme:lib:jar:natives:1.0"), parent));
+      assertFalse(any.isProvided(new DefaultArtifact("org.acme:lib:1.0"), null));
+    }
+  }
+
+  @Test
+  public void testPolicySystemProperty() {
+    try {
+      System.setProperty(ResolverOptions.PARENT_CLASSPATH_POLICY_SYS_PROP, "any_version");
+      assertEquals(ParentClasspathPolicy.ANY_VERSION, new ResolverOptions().getParentClasspathPolicy());
+      // An invalid value falls back to the default policy
+      System.setProperty(ResolverOptions.PARENT_CLASSPATH_POLICY_SYS_PROP, "same-version");
+      assertEquals(ResolverOptions.DEFAULT_PARENT_CLASSPATH_POLICY, new ResolverOptions().getParentClasspathPolicy());
+    } finally {
+      System.clearProperty(ResolverOptions.PARENT_CLASSPATH_POLICY_SYS_PROP);
+    }
+  }
+
+  private File createJar(String groupId, String artifactId, String version) throws Exception {
+    File jar = folder.newFile(artifactId + "-" + version + ".jar");
+    try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+      out.putNextEntry(new JarEntry("META-INF/maven/" + groupId + "/" + artifactId + "/pom.properties"));
+      out.write(("groupId=" + groupId + "\nartifactId=" + artifactId + "\nversion=" + version + "\n")
+          .getBytes(StandardCharsets.ISO_8859_1));
+      out.closeEntry();
+    }
+    return jar;
+  }
+}
@@ -1,11 +1,16 @@
 package io.vertx.maven.modules;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.management.UnixOperatingSystemMXBean;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
+import io.vertx.maven.DeploymentReport;
 import io.vertx.maven.MavenVerticleFactory;
+import io.vertx.maven.ResolverMetrics;
+import io.vertx.maven.ResolverOptions;
+import io.vertx.maven.resolver.ResolutionReport;
 import io.vertx.maven.utils.FileUtils;
 import io.vertx.test.core.VertxTestBase;
 import org.eclipse.aether.resolution.ArtifactResult;
@@ -24,6 +29,9 @@ import javax.servlet.DispatcherType;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Files;
@@ -32,6 +40,7 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.ServiceConfigurationError;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
@@ -523,6 +532,128 @@ public class FactoryTest extends VertxTestBase {
   }
 
 
+  @Test
+  public void testRedeployDoesNotLeakClassLoadersNorFiles() throws Exception {
+    File testRepo = createMyModuleRepository("testRedeployDoesNotLeakClassLoadersNorFiles");
+    configureRepos(testRepo, null);
+    MavenVerticleFactory factory = mavenVerticleFactory();
+    long openFiles = -1;
+    for (int i = 0; i < 50; i++) {
+      CountDownLatch latch = new CountDownLatch(1);
+      vertx.deployVerticle("maven:my:module:1.0::my.serviceA", new DeploymentOptions().setInstances(2), onSuccess(id -> {
+        assertEquals(1, factory.getClassLoaderCount());
+        vertx.undeploy(id, onSuccess(v -> latch.countDown()));
+      }));
+      awaitLatch(latch);
+      assertEquals(0, factory.getClassLoaderCount());
+      if (i == 0) {
+        // The first cycle opens the files kept for the whole run (local repository, logs...)
+        openFiles = getOpenFileDescriptorCount();
+      }
+    }
+    if (openFiles >= 0) {
+      long delta = getOpenFileDescriptorCount() - openFiles;
+      assertTrue("Open file descriptors increased by " + delta, delta < 10);
+    }
+
+    // A failed deployment releases the loader of each instance, the loader is then closed and can be collected
+    AtomicReference<WeakReference<ClassLoader>> loader = new AtomicReference<>();
+    CountDownLatch failed = new CountDownLatch(1);
+    vertx.deployVerticle("maven:my:module:1.0::my.serviceFailing", new DeploymentOptions().setInstances(2), onFailure(err -> {
+      assertEquals("io.vertx.mymodule.MyFailingVerticle$Failure", err.getClass().getName());
+      loader.set(new WeakReference<>(err.getClass().getClassLoader()));
+      failed.countDown();
+    }));
+    awaitLatch(failed);
+    assertWaitUntil(() -> factory.getClassLoaderCount() == 0);
+    assertWaitUntil(() -> {
+      System.gc();
+      return loader.get().get() == null;
+    });
+  }
+
+  @Test
+  public void testPreResolvedModules() throws Exception {
+    File testRepo = createMyModuleRepository("testPreResolvedModules");
+    System.setProperty(ResolverOptions.PRE_RESOLVED_MODULES_SYS_PROP, "maven:my:module:1.0::my.serviceA");
+    try {
+      configureRepos(testRepo, null);
+    } finally {
+      System.clearProperty(ResolverOptions.PRE_RESOLVED_MODULES_SYS_PROP);
+    }
+    mavenVerticleFactory().warmUp().onComplete(onSuccess(v -> {
+      vertx.deployVerticle("maven:my:module:1.0::my.serviceA", onSuccess(id -> testComplete()));
+    }));
+    await();
+  }
+
+  @Test
+  public void testPreResolvedModulesFailure() throws Exception {
+    File testRepo = createMyModuleRepository("testPreResolvedModulesFailure");
+    System.setProperty(ResolverOptions.PRE_RESOLVED_MODULES_SYS_PROP, "my:module:1.0 my:nonexistent:1.0");
+    try {
+      configureRepos(testRepo, null);
+    } finally {
+      System.clearProperty(ResolverOptions.PRE_RESOLVED_MODULES_SYS_PROP);
+    }
+    mavenVerticleFactory().warmUp().onComplete(onFailure(err -> {
+      assertTrue(err instanceof IllegalArgumentException);
+      // The other modules can still be deployed
+      vertx.deployVerticle("maven:my:module:1.0::my.serviceA", onSuccess(id -> testComplete()));
+    }));
+    await();
+  }
+
+  @Test
+  public void testDeploymentReport() throws Exception {
+    File testRepo = createMyModuleRepository("testDeploymentReport");
+    File emptyRepo = Files.createTempDirectory("vertx").toFile();
+    emptyRepo.deleteOnExit();
+    startRemoteServer(createRemoteServer(testRepo));
+    configureRepos(emptyRepo, "http://localhost:8080/");
+    MavenVerticleFactory factory = mavenVerticleFactory();
+    vertx.deployVerticle("maven:my:module:1.0::my.serviceA", onSuccess(id -> {
+      DeploymentReport report = factory.getDeploymentReport("maven:my:module:1.0::my.serviceA");
+      assertNotNull(report);
+      assertTrue(report.isSucceeded());
+      assertEquals("my:module:1.0", report.getModule());
+      ResolutionReport resolution = report.getResolution();
+      assertFalse(resolution.isCached());
+      assertTrue(resolution.getBytes() > 0);
+      ResolutionReport.ArtifactReport module = resolution.getArtifacts().get(0);
+      assertEquals("module", module.getArtifact().getArtifactId());
+      assertTrue(module.isDownloaded());
+      assertEquals("http://localhost:8080/", module.getRepository());
+      assertTrue(report.getDuration(ResolverMetrics.Phase.DOWNLOAD) > 0);
+      assertTrue(report.getDuration(ResolverMetrics.Phase.CLASSLOADER) > 0);
+      assertTrue(report.getDuration() >= report.getDuration(ResolverMetrics.Phase.VERTICLE));
+      factory.deploymentReportHandler(second -> {
+        // The second deployment is served from the resolution cache
+        assertTrue(second.getResolution().isCached());
+        assertFalse(second.getResolution().getArtifacts().get(0).isDownloaded());
+        assertEquals(0, second.getDuration(ResolverMetrics.Phase.DOWNLOAD));
+        testComplete();
+      });
+      vertx.deployVerticle("maven:my:module:1.0::my.serviceA");
+    }));
+    await();
+  }
+
+  private MavenVerticleFactory mavenVerticleFactory() {
+    return (MavenVerticleFactory) vertx.verticleFactories().stream()
+        .filter(f -> f instanceof MavenVerticleFactory)
+        .findFirst()
+        .get();
+  }
+
+  private static long getOpenFileDescriptorCount() {
+    OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof UnixOperatingSystemMXBean) {
+      return ((UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+    }
+    return -1;
+  }
+
   private File createMyModuleRepository(String repoPath) throws Exception {
     return createMyModuleRepository(
         repoPath,
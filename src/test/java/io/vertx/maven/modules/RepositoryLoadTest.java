@@ -0,0 +1,178 @@
+package io.vertx.maven.modules;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.spi.VerticleFactory;
+import io.vertx.maven.MavenVerticleFactory;
+import io.vertx.maven.ResolverOptions;
+import io.vertx.maven.utils.FileUtils;
+import io.vertx.maven.utils.LocalArtifact;
+import io.vertx.maven.utils.LocalDependency;
+import io.vertx.maven.utils.LocalRepoBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Deploys many modules concurrently from a {@link RepositorySimulator} and reports the resolution throughput and
+ * the tail latency of the deployments.
+ */
+public class RepositoryLoadTest {
+
+  private static final Logger LOGGER = Logger.getLogger(RepositoryLoadTest.class.getName());
+
+  private static final String GROUP_ID = "com.acme.load";
+  private static final int MODULES = 20;
+  private static final int LIBRARIES = 20;
+  private static final int DEPENDENCIES = 5;
+
+  private final File root = new File("target" + File.separator + "repositories" + File.separator + "load");
+  private final File remote = new File(root, "remote");
+  private final File local = new File(root, "local");
+  private RepositorySimulator simulator;
+  private Vertx vertx;
+
+  @Before
+  public void setUp() throws Exception {
+    FileUtils.delete(root);
+    File files = new File(root, "files");
+    files.mkdirs();
+    LocalRepoBuilder builder = new LocalRepoBuilder(remote);
+    for (int i = 0; i < LIBRARIES; i++) {
+      builder.addArtifact(new LocalArtifact(GROUP_ID, "lib-" + i, "1.0")
+          .file(jar(new File(files, "lib-" + i + ".jar"), null, "lib/" + i + "/resource.txt", "lib-" + i)));
+    }
+    for (int i = 0; i < MODULES; i++) {
+      LocalArtifact module = new LocalArtifact(GROUP_ID, "module-" + i, "1.0")
+          .file(jar(new File(files, "module-" + i + ".jar"), "service:load.service",
+              "load.service.json", "{\"main\":\"" + LoadVerticle.class.getName() + "\"}"));
+      for (int j = 0; j < DEPENDENCIES; j++) {
+        module.addDependency(new LocalDependency(GROUP_ID, "lib-" + ((i + j) % LIBRARIES), "1.0"));
+      }
+      builder.addArtifact(module);
+    }
+    builder.build();
+    simulator = new RepositorySimulator(remote).start();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (vertx != null) {
+      vertx.close().toCompletionStage().toCompletableFuture().get(30, TimeUnit.SECONDS);
+    }
+    simulator.stop();
+  }
+
+  @Test
+  public void testConcurrentDeploymentsWithLatencyAndBandwidth() throws Exception {
+    simulator.latency(5, 20, TimeUnit.MILLISECONDS).bandwidth(256 * 1024);
+    List<Long> latencies = deployAll();
+    assertEquals(MODULES, latencies.size());
+    assertTrue(simulator.requests() > 0);
+  }
+
+  @Test
+  public void testConcurrentDeploymentsWithResets() throws Exception {
+    simulator.latency(0, 5, TimeUnit.MILLISECONDS).resetRate(1);
+    try {
+      deployAll();
+      fail("The deployments should have failed");
+    } catch (ExecutionException expected) {
+      // The connections are reset
+    }
+    assertTrue(simulator.resets() > 0);
+  }
+
+  @Test
+  public void testConcurrentDeploymentsWithErrors() throws Exception {
+    simulator.errorRate(1);
+    try {
+      deployAll();
+      fail("The deployments should have failed");
+    } catch (ExecutionException expected) {
+      // The repository is unavailable
+    }
+    assertTrue(simulator.errors() > 0);
+  }
+
+  /**
+   * Deploys all the modules at once from an empty local repository.
+   *
+   * @return the sorted deployment latencies, in milliseconds
+   */
+  private List<Long> deployAll() throws Exception {
+    vertx = Vertx.vertx();
+    for (VerticleFactory registered : new ArrayList<>(vertx.verticleFactories())) {
+      if (registered instanceof MavenVerticleFactory) {
+        vertx.unregisterVerticleFactory(registered);
+      }
+    }
+    vertx.registerVerticleFactory(new MavenVerticleFactory(new ResolverOptions()
+        .setLocalRepository(local.getAbsolutePath())
+        .setRemoteRepositories(Collections.singletonList(simulator.url()))));
+
+    long begin = System.nanoTime();
+    List<CompletableFuture<Long>> deployments = new ArrayList<>();
+    for (int i = 0; i < MODULES; i++) {
+      long start = System.nanoTime();
+      Future<Long> latency = vertx.deployVerticle("maven:" + GROUP_ID + ":module-" + i + ":1.0")
+          .map(id -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      deployments.add(latency.toCompletionStage().toCompletableFuture());
+    }
+    List<Long> latencies = new ArrayList<>();
+    for (CompletableFuture<Long> deployment : deployments) {
+      latencies.add(deployment.get(2, TimeUnit.MINUTES));
+    }
+    long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+    Collections.sort(latencies);
+    LOGGER.info(String.format("Deployed %d modules in %d ms (%.1f modules/s), %d requests, %d bytes, " +
+            "latency p50=%d ms p95=%d ms p99=%d ms max=%d ms",
+        MODULES, duration, MODULES * 1000.0 / Math.max(1, duration), simulator.requests(), simulator.bytes(),
+        percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99),
+        latencies.get(latencies.size() - 1)));
+    return latencies;
+  }
+
+  private static long percentile(List<Long> sorted, int percentile) {
+    int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+    return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+  }
+
+  private static File jar(File file, String mainVerticle, String entry, String content) throws IOException {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    if (mainVerticle != null) {
+      manifest.getMainAttributes().putValue("Main-Verticle", mainVerticle);
+    }
+    try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(file.toPath()), manifest)) {
+      out.putNextEntry(new JarEntry(entry));
+      out.write(content.getBytes(StandardCharsets.UTF_8));
+      out.closeEntry();
+    }
+    return file;
+  }
+
+  public static class LoadVerticle extends AbstractVerticle {
+  }
+}
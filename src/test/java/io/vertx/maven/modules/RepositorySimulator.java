@@ -0,0 +1,303 @@
+package io.vertx.maven.modules;
+
+import org.eclipse.jetty.io.EndPoint;
+import org.eclipse.jetty.server.HttpConnection;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.DefaultServlet;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.util.EnumSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process Maven repository served by Jetty, injecting faults in the responses: a latency before each
+ * response, a bandwidth limit per response, a rate of {@code 503} errors and a rate of connection resets.
+ * <p/>
+ * The faults can be changed while the simulator is running.
+ */
+public class RepositorySimulator {
+
+  private final Server server;
+  private final FaultFilter filter = new FaultFilter();
+
+  private volatile long minLatency;
+  private volatile long maxLatency;
+  private volatile long bytesPerSecond;
+  private volatile double errorRate;
+  private volatile double resetRate;
+
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger concurrentRequests = new AtomicInteger();
+  private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+  private final AtomicInteger errors = new AtomicInteger();
+  private final AtomicInteger resets = new AtomicInteger();
+  private final AtomicLong bytes = new AtomicLong();
+
+  /**
+   * @param repository the directory served as repository
+   */
+  public RepositorySimulator(File repository) {
+    server = new Server(0);
+    ServletContextHandler handler = new ServletContextHandler(ServletContextHandler.SESSIONS);
+    handler.setContextPath("/");
+    handler.addServlet(DefaultServlet.class, "/").setInitParameter("resourceBase", repository.getAbsolutePath());
+    handler.addFilter(new FilterHolder(filter), "/*", EnumSet.of(DispatcherType.REQUEST));
+    server.setHandler(handler);
+  }
+
+  /**
+   * Delays each response by a random duration between the given bounds.
+   */
+  public RepositorySimulator latency(long min, long max, TimeUnit unit) {
+    if (min < 0 || max < min) {
+      throw new IllegalArgumentException("Invalid latency bounds " + min + " - " + max);
+    }
+    this.minLatency = unit.toMillis(min);
+    this.maxLatency = unit.toMillis(max);
+    return this;
+  }
+
+  /**
+   * Limits the bandwidth of each response, {@code 0} for no limit.
+   */
+  public RepositorySimulator bandwidth(long bytesPerSecond) {
+    if (bytesPerSecond < 0) {
+      throw new IllegalArgumentException("Invalid bandwidth " + bytesPerSecond);
+    }
+    this.bytesPerSecond = bytesPerSecond;
+    return this;
+  }
+
+  /**
+   * Fails the given ratio of the requests with a {@code 503} status.
+   */
+  public RepositorySimulator errorRate(double rate) {
+    this.errorRate = rate(rate);
+    return this;
+  }
+
+  /**
+   * Resets the connection of the given ratio of the requests, without sending any response.
+   */
+  public RepositorySimulator resetRate(double rate) {
+    this.resetRate = rate(rate);
+    return this;
+  }
+
+  public RepositorySimulator start() throws Exception {
+    server.start();
+    return this;
+  }
+
+  public void stop() throws Exception {
+    server.stop();
+  }
+
+  /**
+   * @return the url of the repository, to configure as remote repository
+   */
+  public String url() {
+    return "http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort() + "/";
+  }
+
+  public int requests() {
+    return requests.get();
+  }
+
+  /**
+   * @return the highest number of requests served at the same time
+   */
+  public int maxConcurrentRequests() {
+    return maxConcurrentRequests.get();
+  }
+
+  public int errors() {
+    return errors.get();
+  }
+
+  public int resets() {
+    return resets.get();
+  }
+
+  /**
+   * @return the number of bytes of the served files
+   */
+  public long bytes() {
+    return bytes.get();
+  }
+
+  private static double rate(double rate) {
+    if (rate < 0 || rate > 1) {
+      throw new IllegalArgumentException("Invalid rate " + rate);
+    }
+    return rate;
+  }
+
+  private class FaultFilter implements Filter {
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
+      requests.incrementAndGet();
+      maxConcurrentRequests.accumulateAndGet(concurrentRequests.incrementAndGet(), Math::max);
+      try {
+        serve(servletRequest, servletResponse, filterChain);
+      } finally {
+        concurrentRequests.decrementAndGet();
+      }
+    }
+
+    private void serve(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      try {
+        long latency = maxLatency > minLatency ? random.nextLong(minLatency, maxLatency + 1) : minLatency;
+        if (latency > 0) {
+          Thread.sleep(latency);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+      if (resetRate > 0 && random.nextDouble() < resetRate) {
+        resets.incrementAndGet();
+        reset();
+        return;
+      }
+      if (errorRate > 0 && random.nextDouble() < errorRate) {
+        errors.incrementAndGet();
+        ((HttpServletResponse) servletResponse).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        return;
+      }
+      filterChain.doFilter(servletRequest, new ThrottledResponse((HttpServletResponse) servletResponse));
+    }
+
+    private void reset() {
+      EndPoint endPoint = HttpConnection.getCurrentConnection().getEndPoint();
+      Object transport = endPoint.getTransport();
+      if (transport instanceof SocketChannel) {
+        // A zero linger sends a RST instead of a FIN
+        Socket socket = ((SocketChannel) transport).socket();
+        try {
+          socket.setSoLinger(true, 0);
+        } catch (IOException ignore) {
+          // Closed anyway
+        }
+      }
+      endPoint.close();
+    }
+
+    @Override
+    public void destroy() {
+    }
+  }
+
+  private class ThrottledResponse extends HttpServletResponseWrapper {
+
+    private ServletOutputStream out;
+
+    ThrottledResponse(HttpServletResponse response) {
+      super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      if (out == null) {
+        out = new ThrottledOutputStream(super.getOutputStream());
+      }
+      return out;
+    }
+  }
+
+  private class ThrottledOutputStream extends ServletOutputStream {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private final ServletOutputStream delegate;
+    private final long begin = System.nanoTime();
+    private long written;
+
+    ThrottledOutputStream(ServletOutputStream delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      while (len > 0) {
+        int chunk = Math.min(len, CHUNK_SIZE);
+        delegate.write(b, off, chunk);
+        off += chunk;
+        len -= chunk;
+        written += chunk;
+        bytes.addAndGet(chunk);
+        throttle();
+      }
+    }
+
+    private void throttle() throws IOException {
+      long limit = bytesPerSecond;
+      if (limit <= 0) {
+        return;
+      }
+      long expected = TimeUnit.SECONDS.toNanos(written) / limit;
+      long elapsed = System.nanoTime() - begin;
+      if (expected > elapsed) {
+        delegate.flush();
+        try {
+          TimeUnit.NANOSECONDS.sleep(expected - elapsed);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException();
+        }
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+
+    @Override
+    public boolean isReady() {
+      return delegate.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      delegate.setWriteListener(writeListener);
+    }
+  }
+}
@@ -17,21 +17,46 @@
 package io.vertx.maven.resolver;
 
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Vertx;
 import io.vertx.maven.Resolver;
 import io.vertx.maven.ResolverOptions;
+import io.vertx.maven.jfr.DeploymentEvents;
+import io.vertx.maven.modules.RepositorySimulator;
+import io.vertx.maven.metrics.MicrometerResolverMetrics;
 import io.vertx.maven.utils.FileUtils;
 import io.vertx.maven.utils.LocalArtifact;
 import io.vertx.maven.utils.LocalDependency;
 import io.vertx.maven.utils.LocalRepoBuilder;
 import org.eclipse.aether.artifact.Artifact;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 /**
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
@@ -323,4 +348,871 @@ public class ResolverTest {
         .contains("acme", "acme-api");
   }
 
+  @Test
+  public void testResolutionResultIsCached() {
+    new LocalRepoBuilder(LOCAL).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    List<Artifact> artifacts = resolver.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts).hasSize(1);
+
+    // Add a dependency, the cached result does not see it
+    new LocalRepoBuilder(LOCAL)
+        .addArtifact(new LocalArtifact("com.acme", "acme-api", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme", "1.0")
+            .generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-api", "1.0").type("txt")))
+        .build();
+    artifacts = resolver.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts).hasSize(1);
+
+    // Different options are not served from the cache
+    artifacts = resolver.resolve("com.acme:acme:txt:1.0", new ResolutionOptions().addExclusion("com.acme:foo"));
+    assertThat(artifacts).hasSize(2);
+
+    Resolver uncached = Resolver.create(new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath())
+        .setResolutionCacheSize(0));
+    artifacts = uncached.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts).hasSize(2);
+  }
+
+  @Test
+  public void testCachedResolutionIsInvalidatedWhenAFileIsRemoved() {
+    new LocalRepoBuilder(LOCAL)
+        .addArtifact(new LocalArtifact("com.acme", "acme-api", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme", "1.0")
+            .generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-api", "1.0").type("txt")))
+        .build();
+    List<Artifact> artifacts = resolver.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts).hasSize(2);
+
+    File api = artifacts.stream().filter(a -> a.getArtifactId().equals("acme-api")).findFirst().get().getFile();
+    FileUtils.delete(api);
+    try {
+      resolver.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+      fail("The resolution should have failed, acme-api is not in the repository anymore");
+    } catch (IllegalArgumentException e) {
+      assertThat(e.getMessage()).startsWith("Cannot resolve artifact");
+    }
+  }
+
+  @Test
+  public void testParentsAreSharedAcrossResolutionsUnlessSnapshot() {
+    LocalArtifact snapshotParent = new LocalArtifact("com.acme", "acme-parent", "1.0-SNAPSHOT").packaging("pom")
+        .addDependency(new LocalDependency("com.acme", "acme-api", "1.0").type("txt"));
+    LocalArtifact releaseParent = new LocalArtifact("com.acme", "acme-parent", "1.0").packaging("pom")
+        .addDependency(new LocalDependency("com.acme", "acme-api", "1.0").type("txt"));
+    new LocalRepoBuilder(LOCAL)
+        .addArtifact(new LocalArtifact("com.acme", "acme-api", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme-lib", "1.0").generateMainArtifact())
+        .addArtifact(snapshotParent)
+        .addArtifact(releaseParent)
+        .addArtifact(new LocalArtifact("com.acme", "acme", "1.0-SNAPSHOT").parent(snapshotParent)
+            .generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme-a", "1.0").parent(releaseParent).generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme-b", "1.0").parent(releaseParent).generateMainArtifact())
+        .build();
+    assertThat(resolver.resolve("com.acme:acme:txt:1.0-SNAPSHOT", new ResolutionOptions())).hasSize(2);
+    assertThat(resolver.resolve("com.acme:acme-a:txt:1.0", new ResolutionOptions())).hasSize(2);
+
+    // Both parents are updated in place
+    snapshotParent.addDependency(new LocalDependency("com.acme", "acme-lib", "1.0").type("txt"));
+    releaseParent.addDependency(new LocalDependency("com.acme", "acme-lib", "1.0").type("txt"));
+    new LocalRepoBuilder(LOCAL).addArtifact(snapshotParent).addArtifact(releaseParent).build(false);
+
+    // The SNAPSHOT parent is read again
+    List<Artifact> artifacts = resolver.resolve("com.acme:acme:txt:1.0-SNAPSHOT", new ResolutionOptions());
+    assertThat(artifacts.stream().map(Artifact::getArtifactId).collect(Collectors.toList()))
+        .hasSize(3)
+        .contains("acme", "acme-api", "acme-lib");
+
+    // The release parent read by the first resolution is reused
+    artifacts = resolver.resolve("com.acme:acme-b:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts.stream().map(Artifact::getArtifactId).collect(Collectors.toList()))
+        .hasSize(2)
+        .contains("acme-b", "acme-api");
+    artifacts = Resolver.create(new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath()))
+        .resolve("com.acme:acme-b:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts).hasSize(3);
+  }
+
+  @Test
+  public void testDescriptorsAreSharedAcrossResolutionsUnlessSnapshot() {
+    LocalArtifact snapshot = new LocalArtifact("com.acme", "acme-core", "1.0-SNAPSHOT").generateMainArtifact()
+        .addDependency(new LocalDependency("com.acme", "acme-api", "1.0").type("txt"));
+    LocalArtifact release = new LocalArtifact("com.acme", "acme-core", "1.0").generateMainArtifact()
+        .addDependency(new LocalDependency("com.acme", "acme-api", "1.0").type("txt"));
+    LocalRepoBuilder builder = new LocalRepoBuilder(LOCAL)
+        .addArtifact(new LocalArtifact("com.acme", "acme-api", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme-lib", "1.0").generateMainArtifact())
+        .addArtifact(snapshot)
+        .addArtifact(release);
+    // The collector only caches the descriptors of the dependencies, not the one of the resolved artifact
+    for (String artifactId : Arrays.asList("acme-a", "acme-b")) {
+      builder.addArtifact(new LocalArtifact("com.acme", artifactId, "1.0").generateMainArtifact()
+          .addDependency(new LocalDependency("com.acme", "acme-core", "1.0-SNAPSHOT").type("txt")));
+    }
+    for (String artifactId : Arrays.asList("acme-c", "acme-d")) {
+      builder.addArtifact(new LocalArtifact("com.acme", artifactId, "1.0").generateMainArtifact()
+          .addDependency(new LocalDependency("com.acme", "acme-core", "1.0").type("txt")));
+    }
+    builder.build();
+    assertThat(resolver.resolve("com.acme:acme-a:txt:1.0", new ResolutionOptions())).hasSize(3);
+    assertThat(resolver.resolve("com.acme:acme-c:txt:1.0", new ResolutionOptions())).hasSize(3);
+
+    // Both descriptors are updated in place
+    snapshot.addDependency(new LocalDependency("com.acme", "acme-lib", "1.0").type("txt"));
+    release.addDependency(new LocalDependency("com.acme", "acme-lib", "1.0").type("txt"));
+    new LocalRepoBuilder(LOCAL).addArtifact(snapshot).addArtifact(release).build(false);
+
+    // The SNAPSHOT descriptor is read again
+    List<Artifact> artifacts = resolver.resolve("com.acme:acme-b:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts.stream().map(Artifact::getArtifactId).collect(Collectors.toList()))
+        .hasSize(4)
+        .contains("acme-b", "acme-core", "acme-api", "acme-lib");
+
+    // The release descriptor read by the first resolutions is reused
+    artifacts = resolver.resolve("com.acme:acme-d:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts.stream().map(Artifact::getArtifactId).collect(Collectors.toList()))
+        .hasSize(3)
+        .contains("acme-d", "acme-core", "acme-api");
+  }
+
+  @Test
+  public void testConcurrentResolutionsAreCoalesced() throws Exception {
+    new LocalRepoBuilder(LOCAL)
+        .addArtifact(new LocalArtifact("com.acme", "acme-api", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme", "1.0")
+            .generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-api", "1.0").type("txt")))
+        .build();
+    AtomicInteger resolutions = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    ResolverImpl slow = new ResolverImpl(new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath())
+        .setResolutionCacheSize(0)) {
+      @Override
+      public List<Artifact> resolve(Artifact artifact, boolean transitive, List<String> exclusions) {
+        resolutions.incrementAndGet();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return super.resolve(artifact, transitive, exclusions);
+      }
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(5);
+    try {
+      List<Future<List<Artifact>>> results = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        results.add(executor.submit(() -> slow.resolve("com.acme:acme:txt:1.0", new ResolutionOptions())));
+      }
+      // Let the concurrent calls join the pending resolution before completing it
+      Thread.sleep(200);
+      release.countDown();
+      for (Future<List<Artifact>> result : results) {
+        assertThat(result.get(10, TimeUnit.SECONDS)).hasSize(2);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(resolutions.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testAsynchronousResolution() throws Exception {
+    new LocalRepoBuilder(LOCAL)
+        .addArtifact(new LocalArtifact("com.acme", "acme-api", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme", "1.0")
+            .generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-api", "1.0").type("txt")))
+        .build();
+    Vertx vertx = Vertx.vertx();
+    try {
+      List<Artifact> artifacts = resolver.resolve(vertx, "com.acme:acme:txt:1.0", new ResolutionOptions())
+          .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+      assertThat(artifacts.stream().map(Artifact::toString).collect(Collectors.toList()))
+          .containsExactly("com.acme:acme:txt:1.0", "com.acme:acme-api:txt:1.0");
+
+      // Served from the cache
+      artifacts = resolver.resolve(vertx, "com.acme:acme:txt:1.0", new ResolutionOptions())
+          .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+      assertThat(artifacts).hasSize(2);
+
+      try {
+        resolver.resolve(vertx, "com.acme:missing:txt:1.0", new ResolutionOptions())
+            .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        fail("The resolution of a missing artifact should have failed");
+      } catch (ExecutionException e) {
+        assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class);
+      }
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void testAsynchronousResolutionOnDedicatedWorkerPool() throws Exception {
+    new LocalRepoBuilder(LOCAL).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    AtomicReference<String> thread = new AtomicReference<>();
+    ResolverImpl pooled = new ResolverImpl(new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath())
+        .setWorkerPoolName("test-resolver").setWorkerPoolSize(2)) {
+      @Override
+      public List<Artifact> resolve(Artifact artifact, boolean transitive, List<String> exclusions) {
+        thread.set(Thread.currentThread().getName());
+        assertThat(getActiveResolutions()).isEqualTo(1);
+        return super.resolve(artifact, transitive, exclusions);
+      }
+    };
+    Vertx vertx = Vertx.vertx();
+    try {
+      pooled.init(vertx);
+      List<Artifact> artifacts = pooled.resolve(vertx, "com.acme:acme:txt:1.0", new ResolutionOptions())
+          .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+      assertThat(artifacts).hasSize(1);
+      assertThat(thread.get()).startsWith("test-resolver");
+      assertThat(pooled.getActiveResolutions()).isEqualTo(0);
+      assertThat(pooled.getQueuedResolutions()).isEqualTo(0);
+    } finally {
+      pooled.close();
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void testRejectedResolutionIsNotQueued() throws Exception {
+    ResolverImpl rejecting = new ResolverImpl(new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath()));
+    Vertx vertx = Vertx.vertx();
+    vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    try {
+      rejecting.resolve(vertx, "com.acme:acme:txt:1.0", new ResolutionOptions())
+          .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+      fail("The resolution should have been rejected");
+    } catch (Exception expected) {
+      // The worker pool of the closed instance rejects the task
+    }
+    assertThat(rejecting.getQueuedResolutions()).isEqualTo(0);
+  }
+
+  @Test
+  public void testConcurrentDownloads() throws Exception {
+    File remote = new File(ROOT, "fake-remote-maven-repo");
+    LocalArtifact root = new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact();
+    LocalRepoBuilder builder = new LocalRepoBuilder(remote);
+    for (int i = 0; i < 4; i++) {
+      builder.addArtifact(new LocalArtifact("com.acme", "acme-" + i, "1.0").generateMainArtifact());
+      root.addDependency(new LocalDependency("com.acme", "acme-" + i, "1.0").type("txt"));
+    }
+    builder.addArtifact(root).build();
+
+    // The files of the graph are downloaded one by one
+    RepositorySimulator simulator = new RepositorySimulator(remote).latency(100, 100, TimeUnit.MILLISECONDS).start();
+    try {
+      Resolver sequential = Resolver.create(new ResolverOptions()
+          .setLocalRepository(LOCAL.getAbsolutePath())
+          .setRemoteRepositories(Collections.singletonList(simulator.url()))
+          .setDownloadThreads(1));
+      assertThat(sequential.resolve("com.acme:acme:txt:1.0", new ResolutionOptions())).hasSize(5);
+      assertThat(simulator.maxConcurrentRequests()).isEqualTo(1);
+    } finally {
+      simulator.stop();
+    }
+
+    // Or together
+    FileUtils.delete(LOCAL);
+    simulator = new RepositorySimulator(remote).latency(100, 100, TimeUnit.MILLISECONDS).start();
+    try {
+      Resolver concurrent = Resolver.create(new ResolverOptions()
+          .setLocalRepository(LOCAL.getAbsolutePath())
+          .setRemoteRepositories(Collections.singletonList(simulator.url()))
+          .setDownloadThreads(4));
+      assertThat(concurrent.resolve("com.acme:acme:txt:1.0", new ResolutionOptions())).hasSize(5);
+      assertThat(simulator.maxConcurrentRequests()).isGreaterThan(1).isLessThanOrEqualTo(4);
+    } finally {
+      simulator.stop();
+    }
+
+    try {
+      new ResolverOptions().setDownloadThreads(0);
+      fail("The number of download threads must be positive");
+    } catch (IllegalArgumentException expected) {
+      // Invalid
+    }
+  }
+
+  @Test
+  public void testResolutionFromThePersistentIndex() {
+    new LocalRepoBuilder(LOCAL).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    ResolverOptions options = new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath())
+        .setResolutionIndex(true);
+    List<Artifact> artifacts = Resolver.create(options).resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts).hasSize(1);
+
+    // Add a dependency, a new resolver (no in-memory cache) reuses the indexed resolution
+    new LocalRepoBuilder(LOCAL)
+        .addArtifact(new LocalArtifact("com.acme", "acme-api", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme", "1.0")
+            .generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-api", "1.0").type("txt")))
+        .build(false);
+    artifacts = Resolver.create(options).resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts.stream().map(Artifact::toString).collect(Collectors.toList()))
+        .containsExactly("com.acme:acme:txt:1.0");
+    assertThat(artifacts.get(0).getFile()).isFile();
+
+    // Without the index, the graph is collected again
+    artifacts = Resolver.create(new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath()))
+        .resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts).hasSize(2);
+  }
+
+  @Test
+  public void testIndexedResolutionIsIgnoredWhenAFileChanged() {
+    new LocalRepoBuilder(LOCAL).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    ResolverOptions options = new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath())
+        .setResolutionIndex(true);
+    List<Artifact> artifacts = Resolver.create(options).resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts).hasSize(1);
+
+    new LocalRepoBuilder(LOCAL)
+        .addArtifact(new LocalArtifact("com.acme", "acme-api", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme", "1.0")
+            .generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-api", "1.0").type("txt")))
+        .build(false);
+    FileUtils.write(artifacts.get(0).getFile(), "a different content");
+    artifacts = Resolver.create(options).resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts).hasSize(2);
+  }
+
+  @Test
+  public void testFailedResolutionIsRemembered() throws Exception {
+    AtomicInteger resolutions = new AtomicInteger();
+    ResolverImpl remembering = new ResolverImpl(new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath())
+        .setFailureCacheTtl(200)) {
+      @Override
+      public List<Artifact> resolve(Artifact artifact, boolean transitive, List<String> exclusions) {
+        resolutions.incrementAndGet();
+        return super.resolve(artifact, transitive, exclusions);
+      }
+    };
+    for (int i = 0; i < 3; i++) {
+      try {
+        remembering.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+        fail("The resolution should have failed");
+      } catch (IllegalArgumentException e) {
+        assertThat(e.getMessage()).startsWith("Cannot resolve artifact");
+      }
+    }
+    assertThat(resolutions.get()).isEqualTo(1);
+
+    // Once published, the artifact is resolved after the backoff period
+    new LocalRepoBuilder(LOCAL).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    Thread.sleep(300);
+    assertThat(remembering.resolve("com.acme:acme:txt:1.0", new ResolutionOptions())).hasSize(1);
+    assertThat(resolutions.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testBatchResolution() {
+    new LocalRepoBuilder(LOCAL)
+        .addArtifact(new LocalArtifact("com.acme", "acme-api", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme-api", "2.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme-lib", "1.0")
+            .generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-api", "1.0").type("txt"))
+        )
+        .addArtifact(new LocalArtifact("com.acme", "acme-a", "1.0")
+            .generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-lib", "1.0").type("txt"))
+        )
+        .addArtifact(new LocalArtifact("com.acme", "acme-b", "1.0")
+            .generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-api", "2.0").type("txt"))
+            .addDependency(new LocalDependency("com.acme", "acme-lib", "1.0").type("txt"))
+        )
+        .build();
+    Map<String, ResolutionOptions> dependencies = new LinkedHashMap<>();
+    dependencies.put("com.acme:acme-b:txt:1.0", new ResolutionOptions());
+    dependencies.put("com.acme:acme-a:txt:1.0", new ResolutionOptions());
+    dependencies.put("com.acme:acme-lib:txt:1.0", new ResolutionOptions().setWithTransitive(false));
+    Map<String, List<Artifact>> resolved = resolver.resolveAll(dependencies);
+
+    assertThat(resolved.keySet()).containsExactly("com.acme:acme-b:txt:1.0", "com.acme:acme-a:txt:1.0",
+        "com.acme:acme-lib:txt:1.0");
+    // Each graph is mediated on its own
+    assertThat(resolved.get("com.acme:acme-b:txt:1.0").stream().map(Artifact::toString).collect(Collectors.toList()))
+        .containsExactly("com.acme:acme-b:txt:1.0", "com.acme:acme-api:txt:2.0", "com.acme:acme-lib:txt:1.0");
+    assertThat(resolved.get("com.acme:acme-a:txt:1.0").stream().map(Artifact::toString).collect(Collectors.toList()))
+        .containsExactly("com.acme:acme-a:txt:1.0", "com.acme:acme-lib:txt:1.0", "com.acme:acme-api:txt:1.0");
+    assertThat(resolved.get("com.acme:acme-lib:txt:1.0").stream().map(Artifact::toString).collect(Collectors.toList()))
+        .containsExactly("com.acme:acme-lib:txt:1.0");
+    resolved.values().forEach(artifacts -> artifacts.forEach(artifact -> assertThat(artifact.getFile()).isFile()));
+
+    // The batch results are cached for the single resolutions
+    assertThat(resolver.resolve("com.acme:acme-a:txt:1.0", new ResolutionOptions()))
+        .isEqualTo(resolved.get("com.acme:acme-a:txt:1.0"));
+  }
+
+  @Test
+  public void testBatchResolutionFailure() {
+    new LocalRepoBuilder(LOCAL).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    Map<String, ResolutionOptions> dependencies = new LinkedHashMap<>();
+    dependencies.put("com.acme:acme:txt:1.0", new ResolutionOptions());
+    dependencies.put("com.acme:missing:txt:1.0", new ResolutionOptions());
+    try {
+      resolver.resolveAll(dependencies);
+      fail("The resolution should have failed");
+    } catch (IllegalArgumentException e) {
+      assertThat(e.getMessage()).startsWith("Cannot resolve artifact com.acme:missing:txt:1.0");
+    }
+    // The resolvable dependency has been resolved anyway
+    assertThat(resolver.resolve("com.acme:acme:txt:1.0", new ResolutionOptions())).hasSize(1);
+  }
+
+  @Test
+  public void testBatchResolutionReportsEveryFailure() {
+    new LocalRepoBuilder(LOCAL).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    Map<String, ResolutionOptions> dependencies = new LinkedHashMap<>();
+    dependencies.put("com.acme:missing:txt:1.0", new ResolutionOptions());
+    dependencies.put("com.acme:acme:txt:1.0", new ResolutionOptions());
+    dependencies.put("com.acme:other:txt:1.0", new ResolutionOptions());
+    try {
+      resolver.resolveAll(dependencies);
+      fail("The resolution should have failed");
+    } catch (IllegalArgumentException e) {
+      assertThat(e.getMessage()).startsWith("Cannot resolve artifact com.acme:missing:txt:1.0");
+      assertThat(e.getSuppressed()).hasSize(2);
+      assertThat(e.getSuppressed()[0].getMessage()).startsWith("Cannot resolve artifact com.acme:missing:txt:1.0");
+      assertThat(e.getSuppressed()[1].getMessage()).startsWith("Cannot resolve artifact com.acme:other:txt:1.0");
+    }
+  }
+
+  @Test
+  public void testBatchResolutionGoesThroughTheCustomResolution() {
+    new LocalRepoBuilder(LOCAL)
+        .addArtifact(new LocalArtifact("com.acme", "acme-lib", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-lib", "1.0").type("txt")))
+        .addArtifact(new LocalArtifact("com.acme", "acme-other", "1.0").generateMainArtifact())
+        .build();
+    List<String> resolved = Collections.synchronizedList(new ArrayList<>());
+    ResolverImpl custom = new ResolverImpl(new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath())) {
+      @Override
+      public List<Artifact> resolve(Artifact artifact, boolean transitive, List<String> exclusions) {
+        resolved.add(artifact.toString());
+        return super.resolve(artifact, transitive, exclusions);
+      }
+    };
+    Map<String, ResolutionOptions> dependencies = new LinkedHashMap<>();
+    dependencies.put("com.acme:acme:txt:1.0", new ResolutionOptions());
+    dependencies.put("com.acme:acme-other:txt:1.0", new ResolutionOptions());
+    Map<String, List<Artifact>> artifacts = custom.resolveAll(dependencies);
+    assertThat(artifacts.get("com.acme:acme:txt:1.0")).hasSize(2);
+    assertThat(artifacts.get("com.acme:acme-other:txt:1.0")).hasSize(1);
+    assertThat(resolved).containsExactly("com.acme:acme:txt:1.0", "com.acme:acme-other:txt:1.0");
+
+    dependencies.put("com.acme:missing:txt:1.0", new ResolutionOptions());
+    try {
+      custom.resolveAll(dependencies);
+      fail("The resolution should have failed");
+    } catch (IllegalArgumentException e) {
+      assertThat(e.getMessage()).startsWith("Cannot resolve artifact com.acme:missing:txt:1.0");
+    }
+    // The other dependencies are cached
+    assertThat(resolved).containsExactly("com.acme:acme:txt:1.0", "com.acme:acme-other:txt:1.0",
+        "com.acme:missing:txt:1.0");
+  }
+
+  @Test
+  public void testOfflineResolution() {
+    new LocalRepoBuilder(LOCAL)
+        .addArtifact(new LocalArtifact("com.acme", "acme-lib", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme", "1.0")
+            .generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-lib", "1.0").type("txt"))
+        )
+        .build();
+    // The remote repository does not exist, it must not be contacted
+    Resolver offline = Resolver.create(new ResolverOptions()
+        .setLocalRepository(LOCAL.getAbsolutePath())
+        .setRemoteRepositories(Collections.singletonList("http://localhost:1/maven2/"))
+        .setOffline(true));
+    List<Artifact> artifacts = offline.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    assertThat(artifacts.stream().map(Artifact::toString).collect(Collectors.toList()))
+        .containsExactly("com.acme:acme:txt:1.0", "com.acme:acme-lib:txt:1.0");
+
+    long begin = System.currentTimeMillis();
+    try {
+      offline.resolve("com.acme:missing:txt:1.0", new ResolutionOptions());
+      fail("The resolution should have failed");
+    } catch (IllegalArgumentException e) {
+      assertThat(e.getMessage()).startsWith("Cannot resolve artifact com.acme:missing:txt:1.0");
+    }
+    assertThat(System.currentTimeMillis() - begin).isLessThan(5000);
+  }
+
+  @Test
+  public void testLocalRepositoryFastPath() throws Exception {
+    new LocalRepoBuilder(LOCAL).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    AtomicInteger resolutions = new AtomicInteger();
+    ResolverImpl local = new ResolverImpl(new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath())) {
+      @Override
+      public List<Artifact> resolve(Artifact artifact, boolean transitive, List<String> exclusions) {
+        resolutions.incrementAndGet();
+        return super.resolve(artifact, transitive, exclusions);
+      }
+    };
+    List<Artifact> artifacts = local.resolve("com.acme:acme:txt:1.0", new ResolutionOptions().setWithTransitive(false));
+    assertThat(artifacts).hasSize(1);
+    assertThat(artifacts.get(0).toString()).isEqualTo("com.acme:acme:txt:1.0");
+    assertThat(artifacts.get(0).getFile()).isFile();
+    assertThat(resolutions.get()).isEqualTo(0);
+
+    // Downloaded from a repository which is not configured: the full resolution decides
+    File directory = artifacts.get(0).getFile().getParentFile();
+    Files.write(new File(directory, "_remote.repositories").toPath(),
+        "acme-1.0.txt>elsewhere=\n".getBytes(StandardCharsets.UTF_8));
+    local = new ResolverImpl(new ResolverOptions().setLocalRepository(LOCAL.getAbsolutePath())) {
+      @Override
+      public List<Artifact> resolve(Artifact artifact, boolean transitive, List<String> exclusions) {
+        resolutions.incrementAndGet();
+        return super.resolve(artifact, transitive, exclusions);
+      }
+    };
+    try {
+      local.resolve("com.acme:acme:txt:1.0", new ResolutionOptions().setWithTransitive(false));
+    } catch (IllegalArgumentException ignore) {
+      // Not available from the configured repositories
+    }
+    assertThat(resolutions.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void testMetrics() {
+    File remote = new File(ROOT, "fake-remote-maven-repo");
+    new LocalRepoBuilder(remote)
+        .addArtifact(new LocalArtifact("com.acme", "acme-lib", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme", "1.0")
+            .generateMainArtifact()
+            .addDependency(new LocalDependency("com.acme", "acme-lib", "1.0").type("txt"))
+        )
+        .build();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Resolver measured = Resolver.create(new ResolverOptions()
+        .setLocalRepository(LOCAL.getAbsolutePath())
+        .setRemoteRepositories(Collections.singletonList(remote.toURI().toString()))
+        .setMetrics(new MicrometerResolverMetrics(registry)));
+
+    measured.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    measured.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    try {
+      measured.resolve("com.acme:missing:txt:1.0", new ResolutionOptions());
+      fail("The resolution should have failed");
+    } catch (IllegalArgumentException expected) {
+      // Missing
+    }
+
+    assertThat(registry.get(MicrometerResolverMetrics.RESOLUTION).tag("outcome", "miss").timer().count()).isEqualTo(1);
+    assertThat(registry.get(MicrometerResolverMetrics.RESOLUTION).tag("outcome", "hit").timer().count()).isEqualTo(1);
+    assertThat(registry.get(MicrometerResolverMetrics.RESOLUTION).tag("outcome", "failure").timer().count())
+        .isEqualTo(1);
+    // The descriptors and the files of both artifacts
+    assertThat(registry.get(MicrometerResolverMetrics.DOWNLOAD).tag("outcome", "success").timer().count())
+        .isGreaterThanOrEqualTo(4);
+    assertThat(registry.get(MicrometerResolverMetrics.DOWNLOAD_BYTES).counter().count()).isGreaterThan(0);
+    assertThat(registry.get(MicrometerResolverMetrics.PHASE).tag("phase", "collect").timer().count()).isEqualTo(2);
+    assertThat(registry.get(MicrometerResolverMetrics.PHASE).tag("phase", "download").timer().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void testResolutionTimeouts() throws Exception {
+    File remote = new File(ROOT, "fake-remote-maven-repo");
+    new LocalRepoBuilder(remote).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    RepositorySimulator simulator = new RepositorySimulator(remote).latency(5, 5, TimeUnit.SECONDS).start();
+    try {
+      // The read timeout fails the download of the descriptor
+      Resolver reading = Resolver.create(new ResolverOptions()
+          .setLocalRepository(LOCAL.getAbsolutePath())
+          .setRemoteRepositories(Collections.singletonList(simulator.url()))
+          .putRepositoryReadTimeout(simulator.url(), 200));
+      long begin = System.nanoTime();
+      try {
+        reading.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+        fail("The resolution should have failed");
+      } catch (IllegalArgumentException expected) {
+        // Timed out
+      }
+      assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)).isLessThan(4000);
+
+      // The deadline aborts the resolution
+      Resolver bounded = Resolver.create(new ResolverOptions()
+          .setLocalRepository(LOCAL.getAbsolutePath())
+          .setRemoteRepositories(Collections.singletonList(simulator.url()))
+          .setResolutionTimeout(300)
+          .setFailureCacheTtl(60000));
+      begin = System.nanoTime();
+      try {
+        bounded.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+        fail("The resolution should have failed");
+      } catch (IllegalStateException expected) {
+        assertThat(expected.getMessage()).contains("timed out");
+      }
+      assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)).isLessThan(4000);
+
+      // A timed out resolution is not remembered as a failure
+      simulator.latency(0, 0, TimeUnit.MILLISECONDS);
+      List<Artifact> list = bounded.resolve("com.acme:acme:txt:1.0", new ResolutionOptions().setTimeout(10000));
+      assertThat(list).hasSize(1);
+    } finally {
+      simulator.stop();
+    }
+  }
+
+  @Test
+  public void testCoalescedResolutionsKeepTheirOwnTimeout() throws Exception {
+    File remote = new File(ROOT, "fake-remote-maven-repo");
+    new LocalRepoBuilder(remote).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    RepositorySimulator simulator = new RepositorySimulator(remote).latency(500, 500, TimeUnit.MILLISECONDS).start();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Resolver slow = Resolver.create(new ResolverOptions()
+          .setLocalRepository(LOCAL.getAbsolutePath())
+          .setRemoteRepositories(Collections.singletonList(simulator.url())));
+      Future<List<Artifact>> impatient = executor.submit(() ->
+          slow.resolve("com.acme:acme:txt:1.0", new ResolutionOptions().setTimeout(200)));
+      Thread.sleep(50);
+      // Joins the first resolution, which times out: it is not a failure of this one
+      List<Artifact> artifacts = slow.resolve("com.acme:acme:txt:1.0", new ResolutionOptions().setTimeout(10000));
+      assertThat(artifacts).hasSize(1);
+      try {
+        impatient.get();
+        fail("The resolution should have timed out");
+      } catch (ExecutionException e) {
+        assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(e.getCause().getMessage()).contains("timed out");
+      }
+    } finally {
+      executor.shutdownNow();
+      simulator.stop();
+    }
+  }
+
+  @Test
+  public void testRepositoryCircuitBreaker() throws Exception {
+    File remote = new File(ROOT, "fake-remote-maven-repo");
+    LocalRepoBuilder builder = new LocalRepoBuilder(remote);
+    for (int i = 0; i < 3; i++) {
+      builder.addArtifact(new LocalArtifact("com.acme", "acme-" + i, "1.0").generateMainArtifact());
+    }
+    builder.build();
+    RepositorySimulator down = new RepositorySimulator(remote).errorRate(1).start();
+    try {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      ResolverImpl breaking = new ResolverImpl(new ResolverOptions()
+          .setLocalRepository(LOCAL.getAbsolutePath())
+          .setRemoteRepositories(Arrays.asList(down.url(), remote.toURI().toString()))
+          .setRepositoryFailureThreshold(2)
+          .setRepositoryCoolOff(1000)
+          .setMetrics(new MicrometerResolverMetrics(registry)));
+
+      // The descriptor and the file fail on the first repository, they are found in the second one
+      breaking.resolve("com.acme:acme-0:txt:1.0", new ResolutionOptions());
+      assertThat(breaking.getUnavailableRepositories()).containsExactly(down.url());
+      assertThat(registry.get(MicrometerResolverMetrics.REPOSITORY_AVAILABLE).gauge().value()).isEqualTo(0);
+
+      // The failing repository is skipped
+      int requests = down.requests();
+      breaking.resolve("com.acme:acme-1:txt:1.0", new ResolutionOptions());
+      assertThat(down.requests()).isEqualTo(requests);
+
+      // Once the cool-off period has elapsed, the repository is probed and used again
+      down.errorRate(0);
+      Thread.sleep(1200);
+      breaking.resolve("com.acme:acme-2:txt:1.0", new ResolutionOptions());
+      long deadline = System.currentTimeMillis() + 10000;
+      while (!breaking.getUnavailableRepositories().isEmpty() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(breaking.getUnavailableRepositories()).isEmpty();
+      assertThat(registry.get(MicrometerResolverMetrics.REPOSITORY_AVAILABLE).gauge().value()).isEqualTo(1);
+    } finally {
+      down.stop();
+    }
+  }
+
+  @Test
+  public void testFailuresWithSkippedRepositoriesAreNotRemembered() throws Exception {
+    File remote = new File(ROOT, "fake-remote-maven-repo");
+    new LocalRepoBuilder(remote).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    File other = new File(ROOT, "other-remote-maven-repo");
+    new LocalRepoBuilder(other)
+        .addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact())
+        .addArtifact(new LocalArtifact("com.acme", "acme-only", "1.0").generateMainArtifact())
+        .build();
+    RepositorySimulator down = new RepositorySimulator(other).errorRate(1).start();
+    try {
+      ResolverImpl breaking = new ResolverImpl(new ResolverOptions()
+          .setLocalRepository(LOCAL.getAbsolutePath())
+          .setRemoteRepositories(Arrays.asList(down.url(), remote.toURI().toString()))
+          .setRepositoryFailureThreshold(1)
+          .setRepositoryCoolOff(1000)
+          .setFailureCacheTtl(60000));
+      breaking.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+      assertThat(breaking.getUnavailableRepositories()).containsExactly(down.url());
+
+      // Only the skipped repository has the artifact
+      try {
+        breaking.resolve("com.acme:acme-only:txt:1.0", new ResolutionOptions());
+        fail("The resolution should have failed");
+      } catch (IllegalArgumentException e) {
+        assertThat(e.getMessage()).contains("skipped the unavailable repositories [" + down.url() + "]");
+      }
+
+      // Once the repository is available again, the artifact is resolved
+      down.errorRate(0);
+      Thread.sleep(1200);
+      try {
+        // Schedules the probe of the repository
+        breaking.resolve("com.acme:missing:txt:1.0", new ResolutionOptions());
+      } catch (IllegalArgumentException ignore) {
+        // Not available
+      }
+      long deadline = System.currentTimeMillis() + 10000;
+      while (!breaking.getUnavailableRepositories().isEmpty() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(breaking.resolve("com.acme:acme-only:txt:1.0", new ResolutionOptions())).hasSize(1);
+    } finally {
+      down.stop();
+    }
+  }
+
+  @Test
+  public void testTimedOutResolutionsDoNotTripTheCircuitBreaker() throws Exception {
+    File remote = new File(ROOT, "fake-remote-maven-repo");
+    new LocalRepoBuilder(remote).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    RepositorySimulator slow = new RepositorySimulator(remote).latency(1, 1, TimeUnit.SECONDS).start();
+    try {
+      ResolverImpl breaking = new ResolverImpl(new ResolverOptions()
+          .setLocalRepository(LOCAL.getAbsolutePath())
+          .setRemoteRepositories(Arrays.asList(slow.url(), remote.toURI().toString()))
+          .setRepositoryFailureThreshold(1));
+      for (int i = 0; i < 3; i++) {
+        try {
+          breaking.resolve("com.acme:acme:txt:1.0", new ResolutionOptions().setTimeout(200));
+          fail("The resolution should have timed out");
+        } catch (IllegalStateException expected) {
+          assertThat(expected.getMessage()).contains("timed out");
+        }
+      }
+      // The transfers were cut by the deadline of the resolutions, not by the repository
+      assertThat(breaking.getUnavailableRepositories()).isEmpty();
+    } finally {
+      slow.stop();
+    }
+  }
+
+  @Test
+  public void testLatencyAwareRepositoryOrdering() throws Exception {
+    File remote = new File(ROOT, "fake-remote-maven-repo");
+    new LocalRepoBuilder(remote).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    RepositorySimulator first = new RepositorySimulator(remote).latency(300, 300, TimeUnit.MILLISECONDS).start();
+    RepositorySimulator second = new RepositorySimulator(remote).start();
+    try {
+      ResolverImpl ordering = new ResolverImpl(new ResolverOptions()
+          .setLocalRepository(LOCAL.getAbsolutePath())
+          .setRemoteRepositories(Arrays.asList(first.url(), second.url()))
+          .setLatencyAwareOrdering(true));
+      assertThat(ordering.getRepositoryOrder()).containsExactly(first.url(), second.url());
+
+      // A missing artifact is looked up in both repositories, measuring both of them
+      resolveMissing(ordering, 0);
+      assertThat(first.requests()).isGreaterThan(0);
+      assertThat(second.requests()).isGreaterThan(0);
+      assertThat(ordering.getRepositoryOrder()).containsExactly(second.url(), first.url());
+
+      // When the latencies change, the measures eventually flip the order back
+      first.latency(0, 0, TimeUnit.MILLISECONDS);
+      second.latency(300, 300, TimeUnit.MILLISECONDS);
+      for (int i = 1; i <= 10 && !ordering.getRepositoryOrder().get(0).equals(first.url()); i++) {
+        resolveMissing(ordering, i);
+      }
+      assertThat(ordering.getRepositoryOrder()).containsExactly(first.url(), second.url());
+
+      // The artifact is then served by the fastest repository
+      int requests = second.requests();
+      ordering.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+      assertThat(second.requests()).isEqualTo(requests);
+    } finally {
+      first.stop();
+      second.stop();
+    }
+  }
+
+  private static void resolveMissing(Resolver resolver, int index) {
+    try {
+      // A different artifact each time, as a missing artifact is not looked up again before the update interval
+      resolver.resolve("com.acme:missing-" + index + ":txt:1.0", new ResolutionOptions());
+      fail("The resolution should have failed");
+    } catch (IllegalArgumentException expected) {
+      // Missing from both repositories
+    }
+  }
+
+  @Test
+  public void testFlightRecorderEvents() throws Exception {
+    Assume.assumeTrue(DeploymentEvents.isAvailable());
+    new LocalRepoBuilder(LOCAL).addArtifact(new LocalArtifact("com.acme", "acme", "1.0").generateMainArtifact()).build();
+    List<Map<String, Object>> events = recordResolutionEvents(() -> {
+      resolver.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+      resolver.resolve("com.acme:acme:txt:1.0", new ResolutionOptions());
+    });
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0).get("coordinates")).isEqualTo("com.acme:acme:txt:1.0");
+    assertThat(events.get(0).get("outcome")).isEqualTo("miss");
+    assertThat(events.get(1).get("outcome")).isEqualTo("hit");
+    assertThat(events.get(1).get("artifacts")).isEqualTo(1);
+  }
+
+  /**
+   * Records the resolution events emitted by the given task. The tests compile with Java 8, so the JFR API is used
+   * reflectively.
+   */
+  private static List<Map<String, Object>> recordResolutionEvents(Runnable task) throws Exception {
+    Class<?> recordingClass = Class.forName("jdk.jfr.Recording");
+    Method getEventType = Class.forName("jdk.jfr.consumer.RecordedEvent").getMethod("getEventType");
+    Method getName = Class.forName("jdk.jfr.EventType").getMethod("getName");
+    Method getValue = Class.forName("jdk.jfr.consumer.RecordedObject").getMethod("getValue", String.class);
+    File dump = File.createTempFile("resolver", ".jfr");
+    try {
+      Object recording = recordingClass.getConstructor().newInstance();
+      try {
+        recordingClass.getMethod("enable", String.class).invoke(recording, "io.vertx.maven.Resolution");
+        recordingClass.getMethod("start").invoke(recording);
+        task.run();
+        recordingClass.getMethod("stop").invoke(recording);
+        recordingClass.getMethod("dump", Path.class).invoke(recording, dump.toPath());
+      } finally {
+        recordingClass.getMethod("close").invoke(recording);
+      }
+      List<Map<String, Object>> events = new ArrayList<>();
+      List<?> recorded = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+          .getMethod("readAllEvents", Path.class).invoke(null, dump.toPath());
+      for (Object event : recorded) {
+        if ("io.vertx.maven.Resolution".equals(getName.invoke(getEventType.invoke(event)))) {
+          Map<String, Object> fields = new HashMap<>();
+          for (String field : Arrays.asList("coordinates", "outcome", "artifacts")) {
+            fields.put(field, getValue.invoke(event, field));
+          }
+          events.add(fields);
+        }
+      }
+      return events;
+    } finally {
+      dump.delete();
+    }
+  }
+
 }
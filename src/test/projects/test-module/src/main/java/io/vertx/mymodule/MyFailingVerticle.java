@@ -0,0 +1,22 @@
+package io.vertx.mymodule;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+public class MyFailingVerticle extends AbstractVerticle {
+
+  @Override
+  public void init(Vertx vertx, Context context) {
+    throw new Failure("Cannot initialize");
+  }
+
+  /**
+   * Defined by the module, so the failure tells which loader loaded the verticle.
+   */
+  public static class Failure extends RuntimeException {
+    public Failure(String message) {
+      super(message);
+    }
+  }
+}